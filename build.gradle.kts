@@ -49,11 +49,14 @@ subprojects {
         }
     }
 
-    configurePublishing()
+    // Benchmarks are not published
+    if (!project.name.endsWith("-benchmarks")) {
+        configurePublishing()
 
-    signing {
-        useGpgCmd()
-        sign(publishing.publications["default"])
+        signing {
+            useGpgCmd()
+            sign(publishing.publications["default"])
+        }
     }
 
     tasks.test {
@@ -1,5 +1,6 @@
 rootProject.name = "spring-security-exception-handler"
 include(
     "spring-security-exception-handler",
-    "spring-security-exception-handler-starter"
+    "spring-security-exception-handler-starter",
+    "spring-security-exception-handler-benchmarks"
 )
\ No newline at end of file
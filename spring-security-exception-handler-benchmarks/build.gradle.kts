@@ -0,0 +1,24 @@
+project.description = "JMH benchmarks for spring-security-exception-handler library."
+
+plugins {
+    id("me.champeau.jmh") version "0.7.3"
+}
+
+dependencies {
+    jmh(project(":spring-security-exception-handler"))
+
+    jmh("org.springframework.security:spring-security-core")
+    jmh("org.springframework.security:spring-security-web")
+    jmh("jakarta.servlet:jakarta.servlet-api")
+    jmh("org.springframework:spring-test")
+}
+
+jmh {
+    benchmarkMode = listOf("thrpt", "avgt")
+    timeUnit = "us"
+    fork = 1
+    warmupIterations = 3
+    iterations = 5
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+}
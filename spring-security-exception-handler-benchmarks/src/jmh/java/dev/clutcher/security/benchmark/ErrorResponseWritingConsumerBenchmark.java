@@ -0,0 +1,52 @@
+package dev.clutcher.security.benchmark;
+
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+@State(Scope.Thread)
+public class ErrorResponseWritingConsumerBenchmark {
+
+    @Param({"json", "graphql"})
+    private String format;
+
+    private ErrorResponseWritingConsumer consumer;
+    private RuntimeException authenticationException;
+    private RuntimeException accessDeniedException;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        consumer = new ErrorResponseWritingConsumer(
+                "graphql".equals(format)
+                        ? ExceptionMappingFunctions.graphqlJsonBodyExceptionMapping()
+                        : ExceptionMappingFunctions.jsonBodyExceptionMapping()
+        );
+        authenticationException = new BadCredentialsException("Invalid credentials");
+        accessDeniedException = new AccessDeniedException("Access denied");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public MockHttpServletResponse authenticationError() {
+        // ! Response is reset instead of recreated, so only the writing path is measured
+        response.reset();
+        consumer.accept(authenticationException, response);
+        return response;
+    }
+
+    @Benchmark
+    public MockHttpServletResponse accessDenied() {
+        response.reset();
+        consumer.accept(accessDeniedException, response);
+        return response;
+    }
+
+}
@@ -0,0 +1,80 @@
+package dev.clutcher.security.benchmark;
+
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
+import dev.clutcher.security.filter.SpringSecurityExceptionFilter;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class SpringSecurityExceptionFilterBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int handlerCount;
+
+    @Param({"LINEAR", "URL_INDEX"})
+    private String dispatchStrategy;
+
+    private SpringSecurityExceptionFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+    private FilterChain rejectingChain;
+
+    @Setup
+    public void setUp() {
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(ExceptionMappingFunctions.jsonBodyExceptionMapping());
+
+        List<SpringSecurityExceptionHandler> handlers = new ArrayList<>();
+        for (int i = 0; i < handlerCount - 1; i++) {
+            handlers.add(SpringSecurityExceptionHandlerBuilder.builder()
+                                                              .canHandle(new UrlMatchingPredicate(List.of("/api/service" + i + "/**")))
+                                                              .handle(consumer)
+                                                              .order(i)
+                                                              .build());
+        }
+        // ! Catch-all handler is evaluated last, which is the worst case for the linear scan
+        handlers.add(SpringSecurityExceptionHandlerBuilder.builder()
+                                                          .canHandle(new UrlMatchingPredicate(List.of("/**")))
+                                                          .handle(consumer)
+                                                          .order(Integer.MAX_VALUE)
+                                                          .build());
+
+        filter = new SpringSecurityExceptionFilter(handlers);
+        if ("URL_INDEX".equals(dispatchStrategy)) {
+            filter.setDispatcherFactory(HandlerDispatcherFactory.urlIndex());
+        }
+
+        request = new MockHttpServletRequest("POST", "/api/login");
+        response = new MockHttpServletResponse();
+
+        // ! Preallocated exception, so stack trace capturing is not part of the measurement
+        AccessDeniedException exception = new AccessDeniedException("Access denied");
+        rejectingChain = (servletRequest, servletResponse) -> {
+            throw exception;
+        };
+    }
+
+    @Benchmark
+    public MockHttpServletResponse rejectedRequest() throws ServletException, IOException {
+        response.reset();
+        filter.doFilter(request, response, rejectingChain);
+        return response;
+    }
+
+}
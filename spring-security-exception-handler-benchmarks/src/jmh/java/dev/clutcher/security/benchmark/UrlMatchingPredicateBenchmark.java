@@ -0,0 +1,57 @@
+package dev.clutcher.security.benchmark;
+
+import dev.clutcher.security.handler.functions.PathPatternMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@State(Scope.Thread)
+public class UrlMatchingPredicateBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int patternCount;
+
+    // literal - hits last exact pattern, wildcard - hits last "/**" pattern, miss - no pattern matches
+    @Param({"literal", "wildcard", "miss"})
+    private String uriShape;
+
+    private UrlMatchingPredicate antPredicate;
+    private PathPatternMatchingPredicate pathPatternPredicate;
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        List<String> patterns = new ArrayList<>();
+        for (int i = 0; i < patternCount; i++) {
+            patterns.add(i % 2 == 0 ? "/api/service" + i + "/resource" : "/api/service" + i + "/**");
+        }
+        antPredicate = new UrlMatchingPredicate(patterns);
+        pathPatternPredicate = new PathPatternMatchingPredicate(patterns);
+
+        int last = patternCount - 1;
+        String requestUri = switch (uriShape) {
+            case "literal" -> "/api/service" + (last - last % 2) + "/resource";
+            case "wildcard" -> "/api/service" + (last % 2 == 1 ? last : last + 1) + "/nested/resource/42";
+            default -> "/public/assets/app.js";
+        };
+        request = new MockHttpServletRequest("GET", requestUri);
+    }
+
+    @Benchmark
+    public boolean antPathMatcher() {
+        return antPredicate.test(request);
+    }
+
+    @Benchmark
+    public boolean pathPattern() {
+        return pathPatternPredicate.test(request);
+    }
+
+}
@@ -10,4 +10,16 @@ dependencies {
     implementation("org.springframework.boot:spring-boot-security")
 
     implementation("jakarta.servlet:jakarta.servlet-api")
+
+    compileOnly("io.micrometer:micrometer-core")
+    compileOnly("org.springframework:spring-webflux")
+
+    testImplementation("org.springframework.boot:spring-boot-test")
+    testImplementation("org.springframework:spring-test")
+    testImplementation("org.springframework:spring-core-test")
+    testImplementation("org.springframework:spring-webflux")
+    testImplementation("io.micrometer:micrometer-core")
+    testImplementation("org.assertj:assertj-core")
+
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
 }
\ No newline at end of file
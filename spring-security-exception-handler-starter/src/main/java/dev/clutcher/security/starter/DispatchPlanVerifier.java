@@ -0,0 +1,46 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.dispatch.DispatchPlan;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+
+import java.util.List;
+
+public class DispatchPlanVerifier implements SmartInitializingSingleton {
+
+    private static final Log LOG = LogFactory.getLog(DispatchPlanVerifier.class);
+
+    private final ObjectProvider<SpringSecurityExceptionHandler> handlers;
+    private final boolean failOnError;
+
+    public DispatchPlanVerifier(ObjectProvider<SpringSecurityExceptionHandler> handlers, boolean failOnError) {
+        this.handlers = handlers;
+        this.failOnError = failOnError;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // ! Runs once all handler beans exist, so misconfiguration is reported at startup instead of as wrong responses
+        DispatchPlan plan = DispatchPlan.compile(handlers.stream().toList());
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        if (LOG.isInfoEnabled()) {
+            LOG.info(plan.describe());
+        }
+        for (DispatchPlan.Problem problem : problems) {
+            LOG.warn(problem);
+        }
+
+        if (failOnError) {
+            List<DispatchPlan.Problem> errors = problems.stream()
+                                                        .filter(problem -> problem.severity() == DispatchPlan.Severity.ERROR)
+                                                        .toList();
+            if (!errors.isEmpty()) {
+                throw new IllegalStateException("Invalid security exception handler configuration: " + errors);
+            }
+        }
+    }
+}
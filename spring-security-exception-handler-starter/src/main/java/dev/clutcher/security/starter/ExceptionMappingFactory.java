@@ -0,0 +1,208 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.handler.functions.ErrorBodyTemplate;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.ExceptionMappingRegistry;
+import dev.clutcher.security.handler.functions.ResponseHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+
+import java.util.List;
+
+final class ExceptionMappingFactory {
+
+    private ExceptionMappingFactory() {
+    }
+
+    static ExceptionMappingRegistry exceptionMapping(SecurityExceptionHandlerProperties.ResponseFormat format,
+                                                     SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return exceptionMapping(format, config, config.getExceptions());
+    }
+
+    static ExceptionMappingRegistry exceptionMapping(SecurityExceptionHandlerProperties.ResponseFormat format,
+                                                     SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                     List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        return switch (format) {
+            case JSON -> jsonBodyExceptionMapping(config, exceptions);
+            case GRAPHQL -> graphqlJsonBodyExceptionMapping(config, exceptions);
+            case PROBLEM -> problemJsonExceptionMapping(config, exceptions);
+            case TEXT -> plainTextExceptionMapping(config, exceptions);
+        };
+    }
+
+    static ExceptionMappingRegistry jsonBodyExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return jsonBodyExceptionMapping(config, config.getExceptions());
+    }
+
+    static ExceptionMappingRegistry jsonBodyExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                             List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        String bodyTemplate = config.getBodyTemplate();
+        if (bodyTemplate == null) {
+            ExceptionMappingRegistry.Builder builder = ExceptionMappingFunctions.jsonBodyExceptionMappingBuilder();
+            for (SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig : exceptions) {
+                register(
+                        builder,
+                        exceptionConfig,
+                        new ErrorResponseWritingConsumer.ErrorResponse(
+                                exceptionConfig.getStatus(),
+                                ExceptionMappingFunctions.jsonBody(requireCode(exceptionConfig), resolveMessage(exceptionConfig))
+                        )
+                );
+            }
+            return builder.build();
+        }
+
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile(bodyTemplate);
+        ExceptionMappingRegistry.Builder builder = ExceptionMappingFunctions.templatedJsonBodyExceptionMapping(bodyTemplate).toBuilder();
+        for (SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig : exceptions) {
+            register(
+                    builder,
+                    exceptionConfig,
+                    new ErrorResponseWritingConsumer.ErrorResponse(
+                            exceptionConfig.getStatus(),
+                            ExceptionMappingFunctions.jsonBodyTemplate(template, requireCode(exceptionConfig), resolveMessage(exceptionConfig))
+                    )
+            );
+        }
+        return builder.build();
+    }
+
+    static ExceptionMappingRegistry graphqlJsonBodyExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return graphqlJsonBodyExceptionMapping(config, config.getExceptions());
+    }
+
+    static ExceptionMappingRegistry graphqlJsonBodyExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                                    List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        String bodyTemplate = config.getBodyTemplate();
+        ErrorBodyTemplate template = bodyTemplate != null ? ErrorBodyTemplate.compile(bodyTemplate) : null;
+        ExceptionMappingRegistry.Builder builder = template != null
+                ? ExceptionMappingFunctions.templatedGraphqlJsonBodyExceptionMapping(bodyTemplate).toBuilder()
+                : ExceptionMappingFunctions.graphqlJsonBodyExceptionMappingBuilder();
+        for (SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig : exceptions) {
+            String code = requireCode(exceptionConfig);
+            String errorType = exceptionConfig.getErrorType() != null ? exceptionConfig.getErrorType() : code;
+            String classification = exceptionConfig.getClassification() != null
+                    ? exceptionConfig.getClassification()
+                    : graphqlClassification(exceptionConfig.getStatus());
+            String message = resolveMessage(exceptionConfig);
+            register(
+                    builder,
+                    exceptionConfig,
+                    template != null
+                            ? new ErrorResponseWritingConsumer.ErrorResponse(
+                                    exceptionConfig.getStatus(),
+                                    ExceptionMappingFunctions.graphqlJsonBodyTemplate(
+                                            template, message, errorType, classification, code
+                                    )
+                            )
+                            : new ErrorResponseWritingConsumer.ErrorResponse(
+                                    exceptionConfig.getStatus(),
+                                    ExceptionMappingFunctions.graphqlJsonBody(
+                                            message, errorType, classification, code
+                                    )
+                            )
+            );
+        }
+        return builder.build();
+    }
+
+    static ExceptionMappingRegistry problemJsonExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return problemJsonExceptionMapping(config, config.getExceptions());
+    }
+
+    static ExceptionMappingRegistry problemJsonExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                                List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        String bodyTemplate = config.getBodyTemplate();
+        ErrorBodyTemplate template = bodyTemplate != null ? ErrorBodyTemplate.compile(bodyTemplate) : null;
+        ExceptionMappingRegistry.Builder builder = template != null
+                ? ExceptionMappingFunctions.templatedProblemJsonExceptionMapping(bodyTemplate).toBuilder()
+                : ExceptionMappingFunctions.problemJsonExceptionMappingBuilder();
+        for (SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig : exceptions) {
+            int status = exceptionConfig.getStatus();
+            String problemType = exceptionConfig.getProblemType() != null
+                    ? exceptionConfig.getProblemType()
+                    : ExceptionMappingFunctions.DEFAULT_PROBLEM_TYPE;
+            String title = exceptionConfig.getTitle() != null ? exceptionConfig.getTitle() : problemTitle(status);
+            String detail = exceptionConfig.getDetail() != null ? exceptionConfig.getDetail() : exceptionConfig.getMessage();
+            register(
+                    builder,
+                    exceptionConfig,
+                    template != null
+                            ? new ErrorResponseWritingConsumer.ErrorResponse(
+                                    status,
+                                    ExceptionMappingFunctions.problemJsonBodyTemplate(template, problemType, title, status, detail),
+                                    ExceptionMappingFunctions.PROBLEM_JSON_CONTENT_TYPE
+                            )
+                            : ExceptionMappingFunctions.problemResponse(problemType, title, status, detail)
+            );
+        }
+        return builder.build();
+    }
+
+    static ExceptionMappingRegistry plainTextExceptionMapping(SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                              List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        ExceptionMappingRegistry.Builder builder = ExceptionMappingFunctions.plainTextExceptionMappingBuilder();
+        for (SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig : exceptions) {
+            String message = exceptionConfig.getMessage() != null ? exceptionConfig.getMessage() : exceptionConfig.getCode();
+            register(
+                    builder,
+                    exceptionConfig,
+                    ExceptionMappingFunctions.plainTextResponse(
+                            exceptionConfig.getStatus(),
+                            message != null ? message : problemTitle(exceptionConfig.getStatus())
+                    )
+            );
+        }
+        return builder.build();
+    }
+
+    private static void register(ExceptionMappingRegistry.Builder builder,
+                                 SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig,
+                                 ErrorResponseWritingConsumer.ErrorResponse errorResponse) {
+        // ! Headers are validated and materialized once here, responses only replay them
+        builder.register(
+                resolveExceptionType(exceptionConfig),
+                exceptionConfig.getResponseHeaders().isEmpty()
+                        ? errorResponse
+                        : errorResponse.withHeaders(ResponseHeaders.of(exceptionConfig.getResponseHeaders()))
+        );
+    }
+
+    static Class<? extends RuntimeException> resolveExceptionType(SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig) {
+        Assert.hasText(exceptionConfig.getType(), "Exception type must be configured for exception mapping");
+        return resolveExceptionType(exceptionConfig.getType());
+    }
+
+    @SuppressWarnings("unchecked")
+    static Class<? extends RuntimeException> resolveExceptionType(String typeName) {
+        Class<?> type = ClassUtils.resolveClassName(typeName, ExceptionMappingFactory.class.getClassLoader());
+        Assert.isAssignable(RuntimeException.class, type, "Mapped exception type must be a RuntimeException");
+        return (Class<? extends RuntimeException>) type;
+    }
+
+    private static String requireCode(SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig) {
+        Assert.hasText(exceptionConfig.getCode(), "Code must be configured for exception mapping of " + exceptionConfig.getType());
+        return exceptionConfig.getCode();
+    }
+
+    private static String problemTitle(int status) {
+        HttpStatus httpStatus = HttpStatus.resolve(status);
+        return httpStatus != null ? httpStatus.getReasonPhrase() : "Error";
+    }
+
+    private static String resolveMessage(SecurityExceptionHandlerProperties.ExceptionConfig exceptionConfig) {
+        return exceptionConfig.getMessage() != null ? exceptionConfig.getMessage() : exceptionConfig.getCode();
+    }
+
+    private static String graphqlClassification(int status) {
+        return switch (status) {
+            case 400 -> "BAD_REQUEST";
+            case 401 -> "UNAUTHENTICATED";
+            case 403 -> "FORBIDDEN";
+            case 404 -> "NOT_FOUND";
+            default -> "INTERNAL_ERROR";
+        };
+    }
+}
@@ -0,0 +1,70 @@
+package dev.clutcher.security.starter;
+
+import org.springframework.context.MessageSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Resolves exception messages of a handler for one locale, so bodies can be encoded once per locale at startup.
+ */
+final class ExceptionMessageLocalizer {
+
+    static final String MESSAGE_KEY_PREFIX = "dev.clutcher.security.messages.";
+
+    private ExceptionMessageLocalizer() {
+    }
+
+    static List<SecurityExceptionHandlerProperties.ExceptionConfig> localize(List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions,
+                                                                           MessageSource messageSource,
+                                                                           Locale locale) {
+        // ! Built-in mappings are re-registered with translated messages, configured exceptions registered later override them
+        List<SecurityExceptionHandlerProperties.ExceptionConfig> localized = new ArrayList<>();
+        localized.add(builtIn("org.springframework.security.core.AuthenticationException", 401, "AUTHENTICATION_ERROR",
+                "Authentication required", "AUTHENTICATION_REQUIRED", "UNAUTHENTICATED", messageSource, locale));
+        localized.add(builtIn("org.springframework.security.access.AccessDeniedException", 403, "ACCESS_DENIED",
+                "Access denied", "ACCESS_DENIED", "FORBIDDEN", messageSource, locale));
+        localized.add(builtIn(RuntimeException.class.getName(), 500, "INTERNAL_ERROR",
+                "Internal server error", "INTERNAL_SERVER_ERROR", "INTERNAL_ERROR", messageSource, locale));
+
+        for (SecurityExceptionHandlerProperties.ExceptionConfig exception : exceptions) {
+            localized.add(exception.getMessageKey() != null ? translate(exception, messageSource, locale) : exception);
+        }
+        return localized;
+    }
+
+    private static SecurityExceptionHandlerProperties.ExceptionConfig builtIn(String type, int status, String code,
+                                                                            String defaultMessage, String errorType,
+                                                                            String classification,
+                                                                            MessageSource messageSource, Locale locale) {
+        SecurityExceptionHandlerProperties.ExceptionConfig config = new SecurityExceptionHandlerProperties.ExceptionConfig();
+        config.setType(type);
+        config.setStatus(status);
+        config.setCode(code);
+        config.setMessage(messageSource.getMessage(MESSAGE_KEY_PREFIX + code, null, defaultMessage, locale));
+        config.setErrorType(errorType);
+        config.setClassification(classification);
+        return config;
+    }
+
+    private static SecurityExceptionHandlerProperties.ExceptionConfig translate(SecurityExceptionHandlerProperties.ExceptionConfig exception,
+                                                                              MessageSource messageSource,
+                                                                              Locale locale) {
+        String defaultMessage = exception.getMessage() != null ? exception.getMessage() : exception.getCode();
+
+        SecurityExceptionHandlerProperties.ExceptionConfig config = new SecurityExceptionHandlerProperties.ExceptionConfig();
+        config.setType(exception.getType());
+        config.setStatus(exception.getStatus());
+        config.setCode(exception.getCode());
+        config.setMessage(messageSource.getMessage(exception.getMessageKey(), null, defaultMessage, locale));
+        config.setMessageKey(exception.getMessageKey());
+        config.setErrorType(exception.getErrorType());
+        config.setClassification(exception.getClassification());
+        config.setProblemType(exception.getProblemType());
+        config.setTitle(exception.getTitle());
+        config.setDetail(exception.getDetail());
+        config.setResponseHeaders(exception.getResponseHeaders());
+        return config;
+    }
+}
@@ -0,0 +1,174 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.filter.SpringSecurityExceptionFilterListener;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlPatternPredicate;
+import dev.clutcher.security.support.BoundedCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+public class MicrometerSpringSecurityExceptionFilterListener implements SpringSecurityExceptionFilterListener {
+
+    public static final String HANDLED_COUNTER = "spring.security.exceptions.handled";
+    public static final String HANDLING_TIMER = "spring.security.exceptions.handling";
+    public static final String UNHANDLED_COUNTER = "spring.security.exceptions.unhandled";
+
+    private static final int MAX_EXCEPTION_TYPE_TAGS = 64;
+    private static final String OTHER_TAG_VALUE = "other";
+    private static final String NONE_TAG_VALUE = "none";
+    private static final int PATTERN_CACHE_SIZE = 256;
+
+    private final MeterRegistry meterRegistry;
+    // ! Meters are looked up by handler, exception class, status and pattern without allocating a key per request
+    private final ConcurrentMap<String, HandlerMeters> handlerMeters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Counter> unhandledCounters = new ConcurrentHashMap<>();
+
+    // ! Exception type tag values are capped, so unexpected exception types can't blow up tag cardinality
+    private final AtomicInteger exceptionTypeTagCount = new AtomicInteger();
+    private final ClassValue<String> exceptionTypeTags = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            return exceptionTypeTagCount.incrementAndGet() <= MAX_EXCEPTION_TYPE_TAGS ? type.getSimpleName() : OTHER_TAG_VALUE;
+        }
+    };
+
+    public MicrometerSpringSecurityExceptionFilterListener(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onHandled(SpringSecurityExceptionHandler handler, RuntimeException exception,
+                          HttpServletRequest request, HttpServletResponse response, long durationNanos) {
+        HandlerMeters meters = handlerMeters.get(handler.getName());
+        if (meters == null || meters.handler != handler) {
+            // ! Refreshed handlers replace the entry of their predecessor, meters themselves are shared by the registry
+            meters = new HandlerMeters(handler);
+            handlerMeters.put(handler.getName(), meters);
+        }
+        HandledMeters handledMeters = meters.get(exception.getClass(), response.getStatus(), meters.resolvePattern(request));
+        handledMeters.counter().increment();
+        handledMeters.timer().record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void onUnhandled(RuntimeException exception, HttpServletRequest request) {
+        String exceptionType = exceptionTypeTags.get(exception.getClass());
+        unhandledCounters.computeIfAbsent(exceptionType, type -> Counter.builder(UNHANDLED_COUNTER)
+                                                                         .description("Security exceptions rethrown because no handler matched")
+                                                                         .tags("exception", type)
+                                                                         .register(meterRegistry))
+                         .increment();
+    }
+
+    private HandledMeters createHandledMeters(String handlerName, Class<?> exceptionType, int status, String pattern) {
+        Tags tags = Tags.of(
+                "handler", handlerName,
+                "exception", exceptionTypeTags.get(exceptionType),
+                "status", String.valueOf(status),
+                "pattern", pattern
+        );
+        return new HandledMeters(
+                status,
+                pattern,
+                Counter.builder(HANDLED_COUNTER)
+                       .description("Security exceptions handled by security exception handlers")
+                       .tags(tags)
+                       .register(meterRegistry),
+                Timer.builder(HANDLING_TIMER)
+                     .description("Time spent writing security exception responses")
+                     .tags(tags)
+                     .register(meterRegistry)
+        );
+    }
+
+    private final class HandlerMeters {
+
+        private final SpringSecurityExceptionHandler handler;
+        private final UrlPatternPredicate urlPatternPredicate;
+        // Null when the pattern depends on the request URI
+        private final String fixedPattern;
+        private final BoundedCache<String, String> patternsByUri;
+        private final ConcurrentMap<Class<?>, HandledMeters[]> metersByExceptionType = new ConcurrentHashMap<>();
+
+        private HandlerMeters(SpringSecurityExceptionHandler handler) {
+            this.handler = handler;
+            Predicate<HttpServletRequest> predicate = handler.getCanHandlePredicate();
+            if (predicate instanceof RequestMatchingPredicate requestMatchingPredicate) {
+                predicate = requestMatchingPredicate.getUrlPredicate();
+            }
+            if (predicate instanceof UrlPatternPredicate urlPredicate && urlPredicate.getUrlPatterns().size() > 1) {
+                this.urlPatternPredicate = urlPredicate;
+                this.fixedPattern = null;
+                this.patternsByUri = new BoundedCache<>(PATTERN_CACHE_SIZE);
+            } else {
+                this.urlPatternPredicate = null;
+                this.fixedPattern = predicate instanceof UrlPatternPredicate urlPredicate && !urlPredicate.getUrlPatterns().isEmpty()
+                        ? urlPredicate.getUrlPatterns().get(0)
+                        : NONE_TAG_VALUE;
+                this.patternsByUri = null;
+            }
+        }
+
+        private String resolvePattern(HttpServletRequest request) {
+            if (fixedPattern != null) {
+                return fixedPattern;
+            }
+            // ! Matching pattern only depends on the URI, so it is resolved once per URI instead of on every request
+            String requestUri = request.getRequestURI();
+            String pattern = patternsByUri.get(requestUri);
+            if (pattern == null) {
+                String matchingPattern = urlPatternPredicate.getMatchingPattern(request);
+                pattern = matchingPattern != null ? matchingPattern : NONE_TAG_VALUE;
+                patternsByUri.put(requestUri, pattern);
+            }
+            return pattern;
+        }
+
+        private HandledMeters get(Class<?> exceptionType, int status, String pattern) {
+            HandledMeters[] candidates = metersByExceptionType.get(exceptionType);
+            HandledMeters meters = find(candidates, status, pattern);
+            return meters != null ? meters : register(exceptionType, status, pattern);
+        }
+
+        private synchronized HandledMeters register(Class<?> exceptionType, int status, String pattern) {
+            HandledMeters[] candidates = metersByExceptionType.get(exceptionType);
+            HandledMeters meters = find(candidates, status, pattern);
+            if (meters != null) {
+                return meters;
+            }
+            meters = createHandledMeters(handler.getName(), exceptionType, status, pattern);
+            HandledMeters[] extended = candidates == null ? new HandledMeters[1] : Arrays.copyOf(candidates, candidates.length + 1);
+            extended[extended.length - 1] = meters;
+            metersByExceptionType.put(exceptionType, extended);
+            return meters;
+        }
+
+        // ! Status and pattern vary little per exception type, a linear scan beats hashing a composite key
+        private static HandledMeters find(HandledMeters[] candidates, int status, String pattern) {
+            if (candidates == null) {
+                return null;
+            }
+            for (HandledMeters candidate : candidates) {
+                if (candidate.status() == status && candidate.pattern().equals(pattern)) {
+                    return candidate;
+                }
+            }
+            return null;
+        }
+    }
+
+    private record HandledMeters(int status, String pattern, Counter counter, Timer timer) {
+    }
+}
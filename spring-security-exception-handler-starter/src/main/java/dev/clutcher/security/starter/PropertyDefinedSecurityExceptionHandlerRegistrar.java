@@ -0,0 +1,59 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import org.springframework.beans.factory.support.AbstractBeanDefinition;
+import org.springframework.beans.factory.support.BeanDefinitionRegistry;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.EnvironmentAware;
+import org.springframework.context.annotation.ImportBeanDefinitionRegistrar;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotationMetadata;
+
+import java.util.Set;
+
+/**
+ * Registers a {@link SpringSecurityExceptionHandler} bean named {@code <name>SecurityExceptionHandler} for every
+ * enabled {@code dev.clutcher.security.handlers.<name>} entry that has no explicit bean method.
+ * An existing bean with the same name wins, same as {@code @ConditionalOnMissingBean(name = ...)}.
+ */
+class PropertyDefinedSecurityExceptionHandlerRegistrar implements ImportBeanDefinitionRegistrar, EnvironmentAware {
+
+    static final String BEAN_NAME_SUFFIX = "SecurityExceptionHandler";
+    static final String HANDLER_NAME_ATTRIBUTE = PropertyDefinedSecurityExceptionHandlerRegistrar.class.getName() + ".handlerName";
+
+    private static final String PROPERTIES_PREFIX = "dev.clutcher.security";
+    private static final Set<String> BUILT_IN_HANDLERS = Set.of("default", "graphql", "problem");
+
+    private Environment environment;
+
+    @Override
+    public void setEnvironment(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public void registerBeanDefinitions(AnnotationMetadata importingClassMetadata, BeanDefinitionRegistry registry) {
+        SecurityExceptionHandlerProperties properties = Binder.get(environment)
+                                                              .bind(PROPERTIES_PREFIX, SecurityExceptionHandlerProperties.class)
+                                                              .orElseGet(SecurityExceptionHandlerProperties::new);
+
+        properties.getHandlers().forEach((name, config) -> {
+            String beanName = name + BEAN_NAME_SUFFIX;
+            if (BUILT_IN_HANDLERS.contains(name)
+                    || SecurityExceptionHandlerFactory.isDisabled(config)
+                    || registry.containsBeanDefinition(beanName)) {
+                return;
+            }
+
+            // ! Static factory method with a name argument keeps the definition AOT friendly, the bound properties bean is autowired
+            RootBeanDefinition beanDefinition = new RootBeanDefinition(SecurityExceptionHandlerFactory.class);
+            beanDefinition.setTargetType(SpringSecurityExceptionHandler.class);
+            beanDefinition.setFactoryMethodName("createPropertyDefined");
+            beanDefinition.getConstructorArgumentValues().addIndexedArgumentValue(0, name);
+            beanDefinition.setAutowireMode(AbstractBeanDefinition.AUTOWIRE_CONSTRUCTOR);
+            beanDefinition.setAttribute(HANDLER_NAME_ATTRIBUTE, name);
+            registry.registerBeanDefinition(beanName, beanDefinition);
+        });
+    }
+}
@@ -0,0 +1,145 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.handler.functions.ResponseHeaders;
+import dev.clutcher.security.reactive.filter.SpringSecurityExceptionWebFilter;
+import dev.clutcher.security.reactive.handler.ReactiveSpringSecurityExceptionHandler;
+import dev.clutcher.security.reactive.handler.ReactiveSpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.reactive.handler.functions.ErrorResponseWritingFunction;
+import dev.clutcher.security.reactive.handler.functions.ServerWebExchangeNegotiatingExceptionMapping;
+import dev.clutcher.security.reactive.handler.functions.ServerWebExchangePathPatternMatchingPredicate;
+import dev.clutcher.security.reactive.handler.functions.ServerWebExchangeUrlMatchingPredicate;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.AutoConfiguration;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
+import org.springframework.context.annotation.Bean;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.web.server.SecurityWebFiltersOrder;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+@AutoConfiguration
+@ConditionalOnClass({WebFilter.class, ServerHttpSecurity.class})
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@EnableConfigurationProperties(SecurityExceptionHandlerProperties.class)
+public class ReactiveSpringSecurityExceptionHandlerAutoConfiguration {
+
+    @Bean
+    @ConditionalOnMissingBean(name = "defaultReactiveSecurityExceptionHandler")
+    public ReactiveSpringSecurityExceptionHandler defaultReactiveSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                                  MessageSource messageSource) {
+        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get("default");
+
+        if (isDisabledHandler(config)) {
+            return null;
+        }
+
+        return createHandler("default", config, messageSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "graphqlReactiveSecurityExceptionHandler")
+    public ReactiveSpringSecurityExceptionHandler graphqlReactiveSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                                  MessageSource messageSource) {
+        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get("graphql");
+
+        if (isDisabledHandler(config)) {
+            return null;
+        }
+
+        return createHandler("graphql", config, messageSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "problemReactiveSecurityExceptionHandler")
+    public ReactiveSpringSecurityExceptionHandler problemReactiveSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                                  MessageSource messageSource) {
+        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get("problem");
+
+        if (isDisabledHandler(config)) {
+            return null;
+        }
+
+        return createHandler("problem", config, messageSource);
+    }
+
+    // ! Applied to every ServerHttpSecurity like the servlet configurer, the web filter is never a standalone bean,
+    // ! so it runs once per exchange and right after ExceptionTranslationWebFilter
+    @Bean
+    @ConditionalOnMissingBean(name = "springSecurityExceptionWebFilterCustomizer")
+    public Customizer<ServerHttpSecurity> springSecurityExceptionWebFilterCustomizer(ObjectProvider<ReactiveSpringSecurityExceptionHandler> handlers) {
+        return http -> http.addFilterAfter(
+                new SpringSecurityExceptionWebFilter(handlers.orderedStream().toList()),
+                SecurityWebFiltersOrder.EXCEPTION_TRANSLATION
+        );
+    }
+
+    private static ReactiveSpringSecurityExceptionHandler createHandler(String name,
+                                                                        SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                                        MessageSource messageSource) {
+        verifySupported(name, config);
+
+        // ! Same prebuilt mappings as the servlet handlers, so format, formats and locales negotiate the same way
+        SecurityExceptionHandlerProperties.ResponseFormat format = config.getFormat() != null
+                ? config.getFormat()
+                : SecurityExceptionHandlerFactory.defaultFormat(name);
+        ErrorResponseWritingFunction writingFunction = new ErrorResponseWritingFunction(
+                new ServerWebExchangeNegotiatingExceptionMapping(SecurityExceptionHandlerFactory.createExceptionMapping(config, format, messageSource)),
+                config.getTraceIdHeader()
+        );
+        if (!config.getResponseHeaders().isEmpty()) {
+            writingFunction = writingFunction.withHeaders(ResponseHeaders.of(config.getResponseHeaders()));
+        }
+
+        return ReactiveSpringSecurityExceptionHandlerBuilder.builder()
+                                                            .canHandle(createExchangePredicate(config))
+                                                            .handle(writingFunction)
+                                                            .order(config.getOrder())
+                                                            .name(name)
+                                                            .build();
+    }
+
+    private static Predicate<ServerWebExchange> createExchangePredicate(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        Predicate<ServerWebExchange> predicate = config.getMatcher() == SecurityExceptionHandlerProperties.UrlMatcher.PATH_PATTERN
+                ? new ServerWebExchangePathPatternMatchingPredicate(config.getUrls())
+                : new ServerWebExchangeUrlMatchingPredicate(config.getUrls());
+        for (String requiredHeader : config.getHeaders()) {
+            predicate = predicate.and(exchange -> exchange.getRequest().getHeaders().containsHeader(requiredHeader));
+        }
+        return predicate;
+    }
+
+    // ! Request conditions the reactive handlers can't evaluate fail the startup instead of matching more than configured
+    private static void verifySupported(String name, SecurityExceptionHandlerProperties.HandlerConfig config) {
+        List<String> unsupported = new ArrayList<>();
+        if (!config.getMethods().isEmpty()) {
+            unsupported.add("methods");
+        }
+        if (!config.getAccept().isEmpty()) {
+            unsupported.add("accept");
+        }
+        if (!config.getContentTypes().isEmpty()) {
+            unsupported.add("content-types");
+        }
+        if (!config.getTenants().isEmpty()) {
+            unsupported.add("tenants");
+        }
+        if (!unsupported.isEmpty()) {
+            throw new IllegalStateException("Handler '" + name + "' uses " + unsupported
+                    + ", which are not supported in reactive applications");
+        }
+    }
+
+    private boolean isDisabledHandler(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return config == null || !config.isEnabled();
+    }
+
+}
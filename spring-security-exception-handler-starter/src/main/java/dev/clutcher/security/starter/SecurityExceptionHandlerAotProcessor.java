@@ -0,0 +1,47 @@
+package dev.clutcher.security.starter;
+
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+class SecurityExceptionHandlerAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private static final String PROPERTIES_PREFIX = "dev.clutcher.security";
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        if (!beanFactory.containsBean("environment")) {
+            return null;
+        }
+        Environment environment = beanFactory.getBean(Environment.class);
+        SecurityExceptionHandlerProperties properties = Binder.get(environment)
+                                                              .bind(PROPERTIES_PREFIX, SecurityExceptionHandlerProperties.class)
+                                                              .orElse(null);
+        if (properties == null) {
+            return null;
+        }
+
+        // ! Exception types configured by name are known at build time, so native images can resolve them without reflection config
+        Set<String> exceptionTypes = new LinkedHashSet<>(properties.getAdditionalExceptionTypes());
+        properties.getHandlers().values().forEach(handler ->
+                handler.getExceptions().forEach(exception -> {
+                    if (exception.getType() != null) {
+                        exceptionTypes.add(exception.getType());
+                    }
+                })
+        );
+        if (exceptionTypes.isEmpty()) {
+            return null;
+        }
+        return (generationContext, beanFactoryInitializationCode) ->
+                exceptionTypes.forEach(type -> generationContext.getRuntimeHints()
+                                                                .reflection()
+                                                                .registerType(TypeReference.of(type)));
+    }
+}
@@ -0,0 +1,148 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.ContentNegotiatingExceptionMapping;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingRegistry;
+import dev.clutcher.security.handler.functions.LocaleNegotiatingExceptionMapping;
+import dev.clutcher.security.handler.functions.PathPatternMatchingPredicate;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.ResponseHeaders;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlPatternPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.MessageSource;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+/**
+ * Builds servlet handlers from {@code dev.clutcher.security.handlers.<name>} property entries.
+ */
+final class SecurityExceptionHandlerFactory {
+
+    private SecurityExceptionHandlerFactory() {
+    }
+
+    static SpringSecurityExceptionHandler createPropertyDefined(String name,
+                                                                SecurityExceptionHandlerProperties properties,
+                                                                MessageSource messageSource) {
+        return create(name, properties, defaultFormat(name), messageSource);
+    }
+
+    static SpringSecurityExceptionHandler create(String name,
+                                                 SecurityExceptionHandlerProperties properties,
+                                                 SecurityExceptionHandlerProperties.ResponseFormat defaultFormat,
+                                                 MessageSource messageSource) {
+        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get(name);
+        if (isDisabled(config)) {
+            return null;
+        }
+
+        SecurityExceptionHandlerProperties.ResponseFormat format = config.getFormat() != null ? config.getFormat() : defaultFormat;
+        ErrorResponseWritingConsumer writingConsumer = new ErrorResponseWritingConsumer(
+                createExceptionMapping(config, format, messageSource),
+                config.getTraceIdHeader()
+        );
+        SpringSecurityExceptionHandlerBuilder builder = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                             .canHandle(createTenantPredicate(config, properties.getTenantRouting().getHeader()))
+                                                                             .handle(writingConsumer)
+                                                                             .order(config.getOrder())
+                                                                             .name(name);
+        if (!config.getResponseHeaders().isEmpty()) {
+            builder.headers(ResponseHeaders.of(config.getResponseHeaders()));
+        }
+        if (config.getAsyncWrite().isEnabled()) {
+            builder.asyncWrite(config.getAsyncWrite().getTimeout());
+        }
+        return builder.build();
+    }
+
+    static SecurityExceptionHandlerProperties.ResponseFormat defaultFormat(String name) {
+        return switch (name) {
+            case "graphql" -> SecurityExceptionHandlerProperties.ResponseFormat.GRAPHQL;
+            case "problem" -> SecurityExceptionHandlerProperties.ResponseFormat.PROBLEM;
+            default -> SecurityExceptionHandlerProperties.ResponseFormat.JSON;
+        };
+    }
+
+    static boolean isDisabled(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        return config == null || !config.isEnabled();
+    }
+
+    // Shared with the reactive handlers, which negotiate on the same prebuilt mappings
+    static BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> createExceptionMapping(
+            SecurityExceptionHandlerProperties.HandlerConfig config,
+            SecurityExceptionHandlerProperties.ResponseFormat defaultFormat,
+            MessageSource messageSource) {
+        List<Locale> locales = config.getLocales();
+        if (locales.isEmpty() || messageSource == null) {
+            return createExceptionMapping(config, defaultFormat, config.getExceptions());
+        }
+
+        // ! Messages are resolved and bodies encoded per locale at startup, requests only pick one by Accept-Language
+        LocaleNegotiatingExceptionMapping.Builder builder = LocaleNegotiatingExceptionMapping.builder();
+        for (Locale locale : locales) {
+            List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions =
+                    ExceptionMessageLocalizer.localize(config.getExceptions(), messageSource, locale);
+            builder.locale(locale, createExceptionMapping(config, defaultFormat, exceptions));
+        }
+        return builder.build();
+    }
+
+    private static BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> createExceptionMapping(
+            SecurityExceptionHandlerProperties.HandlerConfig config,
+            SecurityExceptionHandlerProperties.ResponseFormat defaultFormat,
+            List<SecurityExceptionHandlerProperties.ExceptionConfig> exceptions) {
+        List<SecurityExceptionHandlerProperties.ResponseFormat> formats = config.getFormats();
+        if (formats.isEmpty()) {
+            ExceptionMappingRegistry registry = ExceptionMappingFactory.exceptionMapping(defaultFormat, config, exceptions);
+            return (exception, request) -> registry.apply(exception);
+        }
+
+        // ! Every format is prebuilt at startup, requests only pick one by Accept header
+        ContentNegotiatingExceptionMapping.Builder builder = ContentNegotiatingExceptionMapping.builder();
+        for (SecurityExceptionHandlerProperties.ResponseFormat format : formats) {
+            builder.encoder(format.getMediaType(), ExceptionMappingFactory.exceptionMapping(format, config, exceptions));
+        }
+        return builder.build();
+    }
+
+    private static Predicate<HttpServletRequest> createTenantPredicate(SecurityExceptionHandlerProperties.HandlerConfig config,
+                                                                      String tenantHeader) {
+        Predicate<HttpServletRequest> requestPredicate = createRequestPredicate(config);
+        if (config.getTenants().isEmpty()) {
+            return requestPredicate;
+        }
+        return tenantHeader == null
+                ? TenantMatchingPredicate.hosts(config.getTenants(), requestPredicate)
+                : TenantMatchingPredicate.header(tenantHeader, config.getTenants(), requestPredicate);
+    }
+
+    private static Predicate<HttpServletRequest> createRequestPredicate(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        UrlPatternPredicate urlPredicate = createUrlPredicate(config);
+        if (config.getMethods().isEmpty() && config.getAccept().isEmpty()
+                && config.getContentTypes().isEmpty() && config.getHeaders().isEmpty()) {
+            // ! Plain URL predicates stay eligible for URL indexing and dispatch caching
+            return urlPredicate;
+        }
+        return RequestMatchingPredicate.builder()
+                                       .methods(config.getMethods().toArray(new String[0]))
+                                       .urls(urlPredicate)
+                                       .accept(config.getAccept().toArray(new String[0]))
+                                       .contentType(config.getContentTypes().toArray(new String[0]))
+                                       .header(config.getHeaders().toArray(new String[0]))
+                                       .build();
+    }
+
+    private static UrlPatternPredicate createUrlPredicate(SecurityExceptionHandlerProperties.HandlerConfig config) {
+        if (config.getMatcher() == SecurityExceptionHandlerProperties.UrlMatcher.PATH_PATTERN) {
+            return new PathPatternMatchingPredicate(config.getUrls());
+        }
+        return new UrlMatchingPredicate(config.getUrls());
+    }
+}
@@ -2,14 +2,26 @@ package dev.clutcher.security.starter;
 
 import org.springframework.boot.context.properties.ConfigurationProperties;
 
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @ConfigurationProperties(prefix = "dev.clutcher.security")
 public class SecurityExceptionHandlerProperties {
 
     private Map<String, HandlerConfig> handlers = createDefaultHandlers();
+    private IntegrationMode integrationMode = IntegrationMode.FILTER;
+    private DispatchStrategy dispatchStrategy = DispatchStrategy.LINEAR;
+    private DispatchCacheConfig dispatchCache = new DispatchCacheConfig();
+    private TenantRoutingConfig tenantRouting = new TenantRoutingConfig();
+    private EarlyRejectionConfig earlyRejection = new EarlyRejectionConfig();
+    private ValidationConfig validation = new ValidationConfig();
+    private boolean handleAsyncDispatch = false;
+    private boolean handleErrorDispatch = false;
+    private List<String> additionalExceptionTypes = List.of();
 
     public Map<String, HandlerConfig> getHandlers() {
         return handlers;
@@ -23,6 +35,78 @@ public class SecurityExceptionHandlerProperties {
         this.handlers = mergedHandlers;
     }
 
+    public IntegrationMode getIntegrationMode() {
+        return integrationMode;
+    }
+
+    public void setIntegrationMode(IntegrationMode integrationMode) {
+        this.integrationMode = integrationMode;
+    }
+
+    public DispatchStrategy getDispatchStrategy() {
+        return dispatchStrategy;
+    }
+
+    public void setDispatchStrategy(DispatchStrategy dispatchStrategy) {
+        this.dispatchStrategy = dispatchStrategy;
+    }
+
+    public DispatchCacheConfig getDispatchCache() {
+        return dispatchCache;
+    }
+
+    public void setDispatchCache(DispatchCacheConfig dispatchCache) {
+        this.dispatchCache = dispatchCache;
+    }
+
+    public TenantRoutingConfig getTenantRouting() {
+        return tenantRouting;
+    }
+
+    public void setTenantRouting(TenantRoutingConfig tenantRouting) {
+        this.tenantRouting = tenantRouting;
+    }
+
+    public EarlyRejectionConfig getEarlyRejection() {
+        return earlyRejection;
+    }
+
+    public void setEarlyRejection(EarlyRejectionConfig earlyRejection) {
+        this.earlyRejection = earlyRejection;
+    }
+
+    public ValidationConfig getValidation() {
+        return validation;
+    }
+
+    public void setValidation(ValidationConfig validation) {
+        this.validation = validation;
+    }
+
+    public boolean isHandleAsyncDispatch() {
+        return handleAsyncDispatch;
+    }
+
+    public void setHandleAsyncDispatch(boolean handleAsyncDispatch) {
+        this.handleAsyncDispatch = handleAsyncDispatch;
+    }
+
+    public boolean isHandleErrorDispatch() {
+        return handleErrorDispatch;
+    }
+
+    public void setHandleErrorDispatch(boolean handleErrorDispatch) {
+        this.handleErrorDispatch = handleErrorDispatch;
+    }
+
+    public List<String> getAdditionalExceptionTypes() {
+        return additionalExceptionTypes;
+    }
+
+    public void setAdditionalExceptionTypes(List<String> additionalExceptionTypes) {
+        this.additionalExceptionTypes = additionalExceptionTypes;
+    }
+
     private Map<String, HandlerConfig> createDefaultHandlers() {
         Map<String, HandlerConfig> defaults = new HashMap<>();
         
@@ -39,6 +123,13 @@ public class SecurityExceptionHandlerProperties {
         graphqlHandler.setUrls(List.of("/graphql"));
         graphqlHandler.setOrder(0);
         defaults.put("graphql", graphqlHandler);
+
+        //Problem Details handler, opt-in
+        HandlerConfig problemHandler = new HandlerConfig();
+        problemHandler.setEnabled(false);
+        problemHandler.setUrls(List.of("/**"));
+        problemHandler.setOrder(50);
+        defaults.put("problem", problemHandler);
         
         return defaults;
     }
@@ -47,6 +138,21 @@ public class SecurityExceptionHandlerProperties {
         private boolean enabled = false;
         private List<String> urls = List.of();
         private int order = 100;
+        private UrlMatcher matcher = UrlMatcher.ANT;
+        private List<String> methods = List.of();
+        private List<String> accept = List.of();
+        private List<String> contentTypes = List.of();
+        private List<String> headers = List.of();
+        private ResponseFormat format;
+        private List<ResponseFormat> formats = List.of();
+        private List<Locale> locales = List.of();
+        private List<String> tenants = List.of();
+        private Map<String, String> responseHeaders = Map.of();
+        private AuditConfig audit = new AuditConfig();
+        private AsyncWriteConfig asyncWrite = new AsyncWriteConfig();
+        private String bodyTemplate;
+        private String traceIdHeader = "X-Request-Id";
+        private List<ExceptionConfig> exceptions = new ArrayList<>();
 
         public boolean isEnabled() {
             return enabled;
@@ -71,5 +177,441 @@ public class SecurityExceptionHandlerProperties {
         public void setOrder(int order) {
             this.order = order;
         }
+
+        public UrlMatcher getMatcher() {
+            return matcher;
+        }
+
+        public void setMatcher(UrlMatcher matcher) {
+            this.matcher = matcher;
+        }
+
+        public List<String> getMethods() {
+            return methods;
+        }
+
+        public void setMethods(List<String> methods) {
+            this.methods = methods;
+        }
+
+        public List<String> getAccept() {
+            return accept;
+        }
+
+        public void setAccept(List<String> accept) {
+            this.accept = accept;
+        }
+
+        public List<String> getContentTypes() {
+            return contentTypes;
+        }
+
+        public void setContentTypes(List<String> contentTypes) {
+            this.contentTypes = contentTypes;
+        }
+
+        public List<String> getHeaders() {
+            return headers;
+        }
+
+        public void setHeaders(List<String> headers) {
+            this.headers = headers;
+        }
+
+        public ResponseFormat getFormat() {
+            return format;
+        }
+
+        public void setFormat(ResponseFormat format) {
+            this.format = format;
+        }
+
+        public List<ResponseFormat> getFormats() {
+            return formats;
+        }
+
+        public void setFormats(List<ResponseFormat> formats) {
+            this.formats = formats;
+        }
+
+        public List<Locale> getLocales() {
+            return locales;
+        }
+
+        public void setLocales(List<Locale> locales) {
+            this.locales = locales;
+        }
+
+        public List<String> getTenants() {
+            return tenants;
+        }
+
+        public void setTenants(List<String> tenants) {
+            this.tenants = tenants;
+        }
+
+        public Map<String, String> getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        public void setResponseHeaders(Map<String, String> responseHeaders) {
+            this.responseHeaders = responseHeaders;
+        }
+
+        public AuditConfig getAudit() {
+            return audit;
+        }
+
+        public void setAudit(AuditConfig audit) {
+            this.audit = audit;
+        }
+
+        public AsyncWriteConfig getAsyncWrite() {
+            return asyncWrite;
+        }
+
+        public void setAsyncWrite(AsyncWriteConfig asyncWrite) {
+            this.asyncWrite = asyncWrite;
+        }
+
+        public String getBodyTemplate() {
+            return bodyTemplate;
+        }
+
+        public void setBodyTemplate(String bodyTemplate) {
+            this.bodyTemplate = bodyTemplate;
+        }
+
+        public String getTraceIdHeader() {
+            return traceIdHeader;
+        }
+
+        public void setTraceIdHeader(String traceIdHeader) {
+            this.traceIdHeader = traceIdHeader;
+        }
+
+        public List<ExceptionConfig> getExceptions() {
+            return exceptions;
+        }
+
+        public void setExceptions(List<ExceptionConfig> exceptions) {
+            this.exceptions = exceptions;
+        }
+    }
+
+    public static class DispatchCacheConfig {
+        private boolean enabled = false;
+        private int maximumSize = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getMaximumSize() {
+            return maximumSize;
+        }
+
+        public void setMaximumSize(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+    }
+
+    public static class TenantRoutingConfig {
+        private boolean enabled = false;
+        // Header carrying the tenant, requests are routed by host when not set
+        private String header;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+    }
+
+    public static class ValidationConfig {
+        private boolean enabled = true;
+        private boolean failOnError = false;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public boolean isFailOnError() {
+            return failOnError;
+        }
+
+        public void setFailOnError(boolean failOnError) {
+            this.failOnError = failOnError;
+        }
+    }
+
+    public static class EarlyRejectionConfig {
+        private boolean enabled = false;
+        private long threshold = 20;
+        private Duration window = Duration.ofMinutes(1);
+        private String clientKeyHeader;
+        private int sketchWidth = 4096;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public long getThreshold() {
+            return threshold;
+        }
+
+        public void setThreshold(long threshold) {
+            this.threshold = threshold;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public String getClientKeyHeader() {
+            return clientKeyHeader;
+        }
+
+        public void setClientKeyHeader(String clientKeyHeader) {
+            this.clientKeyHeader = clientKeyHeader;
+        }
+
+        public int getSketchWidth() {
+            return sketchWidth;
+        }
+
+        public void setSketchWidth(int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+        }
+    }
+
+    public static class AuditConfig {
+        private boolean enabled = false;
+        private double sampleRate = 1.0;
+        private double permitsPerSecond = 10;
+        private int burst = 20;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getSampleRate() {
+            return sampleRate;
+        }
+
+        public void setSampleRate(double sampleRate) {
+            this.sampleRate = sampleRate;
+        }
+
+        public double getPermitsPerSecond() {
+            return permitsPerSecond;
+        }
+
+        public void setPermitsPerSecond(double permitsPerSecond) {
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        public int getBurst() {
+            return burst;
+        }
+
+        public void setBurst(int burst) {
+            this.burst = burst;
+        }
+    }
+
+    public static class AsyncWriteConfig {
+        private boolean enabled = false;
+        private Duration timeout = Duration.ofSeconds(30);
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public Duration getTimeout() {
+            return timeout;
+        }
+
+        public void setTimeout(Duration timeout) {
+            this.timeout = timeout;
+        }
+    }
+
+    public static class ExceptionConfig {
+        private String type;
+        private int status = 500;
+        private String code;
+        private String message;
+        private String messageKey;
+        private String errorType;
+        private String classification;
+        private String problemType;
+        private String title;
+        private String detail;
+        private Map<String, String> responseHeaders = Map.of();
+
+        public String getType() {
+            return type;
+        }
+
+        public void setType(String type) {
+            this.type = type;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+
+        public void setStatus(int status) {
+            this.status = status;
+        }
+
+        public String getCode() {
+            return code;
+        }
+
+        public void setCode(String code) {
+            this.code = code;
+        }
+
+        public String getMessage() {
+            return message;
+        }
+
+        public void setMessage(String message) {
+            this.message = message;
+        }
+
+        public String getMessageKey() {
+            return messageKey;
+        }
+
+        public void setMessageKey(String messageKey) {
+            this.messageKey = messageKey;
+        }
+
+        public String getErrorType() {
+            return errorType;
+        }
+
+        public void setErrorType(String errorType) {
+            this.errorType = errorType;
+        }
+
+        public String getClassification() {
+            return classification;
+        }
+
+        public void setClassification(String classification) {
+            this.classification = classification;
+        }
+
+        public String getProblemType() {
+            return problemType;
+        }
+
+        public void setProblemType(String problemType) {
+            this.problemType = problemType;
+        }
+
+        public String getTitle() {
+            return title;
+        }
+
+        public void setTitle(String title) {
+            this.title = title;
+        }
+
+        public String getDetail() {
+            return detail;
+        }
+
+        public void setDetail(String detail) {
+            this.detail = detail;
+        }
+
+        public Map<String, String> getResponseHeaders() {
+            return responseHeaders;
+        }
+
+        public void setResponseHeaders(Map<String, String> responseHeaders) {
+            this.responseHeaders = responseHeaders;
+        }
+    }
+
+    public enum DispatchStrategy {
+        // Evaluates canHandle of every handler in order
+        LINEAR,
+        // Compiles URL patterns of all handlers into a single prefix trie
+        URL_INDEX
+    }
+
+    public enum IntegrationMode {
+        // Dedicated filter after ExceptionTranslationFilter, catching exceptions thrown by the chain
+        FILTER,
+        // Handlers exposed as AuthenticationEntryPoint and AccessDeniedHandler of ExceptionTranslationFilter
+        ENTRY_POINT
+    }
+
+    public enum ResponseFormat {
+        // {"code","message"} JSON body
+        JSON("application/json"),
+        // GraphQL "errors" JSON body
+        GRAPHQL("application/graphql-response+json"),
+        // RFC 9457 Problem Details body
+        PROBLEM("application/problem+json"),
+        // Plain text message
+        TEXT("text/plain");
+
+        private final String mediaType;
+
+        ResponseFormat(String mediaType) {
+            this.mediaType = mediaType;
+        }
+
+        public String getMediaType() {
+            return mediaType;
+        }
+    }
+
+    public enum UrlMatcher {
+        // AntPathMatcher based matching of request URI
+        ANT,
+        // Spring PathPattern based matching with patterns parsed once at startup
+        PATH_PATTERN
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,119 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.dispatch.DispatchPlan;
+import dev.clutcher.security.entrypoint.SpringSecurityExceptionEntryPoint;
+import dev.clutcher.security.filter.SpringSecurityExceptionFilter;
+import dev.clutcher.security.filter.SpringSecurityExceptionResponder;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.ApplicationEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.MessageSource;
+import org.springframework.core.env.Environment;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Rebuilds property-defined handlers on configuration refresh and publishes them to every registered filter
+ * and entry point.
+ * Handler beans defined by the application are kept as they are.
+ */
+public class SecurityExceptionHandlerRefresher implements ApplicationListener<ApplicationEvent> {
+
+    private static final Log LOG = LogFactory.getLog(SecurityExceptionHandlerRefresher.class);
+
+    private static final String PROPERTIES_PREFIX = "dev.clutcher.security";
+    // ! Matched by name, so refresh works with Spring Cloud Context without depending on it
+    private static final Set<String> REFRESH_EVENTS = Set.of(
+            "org.springframework.cloud.context.environment.EnvironmentChangeEvent",
+            "org.springframework.cloud.context.scope.refresh.RefreshScopeRefreshedEvent"
+    );
+
+    private final ConfigurableListableBeanFactory beanFactory;
+    private final Environment environment;
+    private final MessageSource messageSource;
+    // ! Filter and entry point of one chain share a responder, the set keeps it from being refreshed twice
+    private final Set<SpringSecurityExceptionResponder> targets = new CopyOnWriteArraySet<>();
+
+    public SecurityExceptionHandlerRefresher(ConfigurableListableBeanFactory beanFactory, Environment environment,
+                                             MessageSource messageSource) {
+        this.beanFactory = beanFactory;
+        this.environment = environment;
+        this.messageSource = messageSource;
+    }
+
+    public void register(SpringSecurityExceptionFilter filter) {
+        register(filter.getResponder());
+    }
+
+    public void register(SpringSecurityExceptionEntryPoint entryPoint) {
+        register(entryPoint.getResponder());
+    }
+
+    public void register(SpringSecurityExceptionResponder responder) {
+        targets.add(responder);
+    }
+
+    @Override
+    public void onApplicationEvent(ApplicationEvent event) {
+        if (REFRESH_EVENTS.contains(event.getClass().getName())) {
+            refresh();
+        }
+    }
+
+    public synchronized void refresh() {
+        SecurityExceptionHandlerProperties properties = Binder.get(environment)
+                                                              .bind(PROPERTIES_PREFIX, SecurityExceptionHandlerProperties.class)
+                                                              .orElseGet(SecurityExceptionHandlerProperties::new);
+
+        List<SpringSecurityExceptionHandler> handlers = new ArrayList<>();
+        Map<String, SpringSecurityExceptionHandler> beans = beanFactory.getBeansOfType(SpringSecurityExceptionHandler.class);
+        beans.forEach((beanName, handler) -> {
+            if (!isPropertyManaged(beanName)) {
+                handlers.add(handler);
+            }
+        });
+        properties.getHandlers().forEach((name, config) -> {
+            String beanName = name + PropertyDefinedSecurityExceptionHandlerRegistrar.BEAN_NAME_SUFFIX;
+            if (beanFactory.containsBeanDefinition(beanName) && !isPropertyManaged(beanName)) {
+                return;
+            }
+            SpringSecurityExceptionHandler handler = SecurityExceptionHandlerFactory.createPropertyDefined(name, properties, messageSource);
+            if (handler != null) {
+                handlers.add(handler);
+            }
+        });
+
+        // ! Plan is compiled and validated here, off the request path; filters only swap the published snapshot
+        DispatchPlan plan = DispatchPlan.compile(handlers);
+        List<DispatchPlan.Problem> errors = plan.validate().stream()
+                                                .filter(problem -> problem.severity() == DispatchPlan.Severity.ERROR)
+                                                .toList();
+        if (!errors.isEmpty() && properties.getValidation().isFailOnError()) {
+            LOG.error("Refreshed security exception handler configuration rejected, keeping previous handlers: " + errors);
+            return;
+        }
+
+        targets.forEach(target -> target.setHandlers(plan.getHandlers()));
+        if (LOG.isInfoEnabled()) {
+            LOG.info("Refreshed security exception handlers\n" + plan.describe());
+        }
+    }
+
+    private boolean isPropertyManaged(String beanName) {
+        if (!beanFactory.containsBeanDefinition(beanName)) {
+            return false;
+        }
+        BeanDefinition definition = beanFactory.getBeanDefinition(beanName);
+        return definition.hasAttribute(PropertyDefinedSecurityExceptionHandlerRegistrar.HANDLER_NAME_ATTRIBUTE)
+                || SpringSecurityExceptionHandlerAutoConfiguration.class.getName().equals(definition.getFactoryBeanName());
+    }
+}
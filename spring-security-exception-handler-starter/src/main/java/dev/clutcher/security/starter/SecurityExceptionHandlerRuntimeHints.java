@@ -0,0 +1,18 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.throttle.TooManyAuthenticationFailuresException;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+
+class SecurityExceptionHandlerRuntimeHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        // ! Exception types from properties are resolved by name, built-in ones are registered unconditionally
+        hints.reflection().registerType(TooManyAuthenticationFailuresException.class);
+        hints.reflection().registerType(TypeReference.of(
+                "org.springframework.boot.micrometer.metrics.autoconfigure.CompositeMeterRegistryAutoConfiguration"
+        ));
+    }
+}
@@ -1,15 +1,118 @@
 package dev.clutcher.security.starter;
 
+import dev.clutcher.security.entrypoint.SpringSecurityExceptionEntryPoint;
 import dev.clutcher.security.filter.SpringSecurityExceptionFilter;
+import dev.clutcher.security.filter.SpringSecurityExceptionResponder;
+import dev.clutcher.security.throttle.RepeatOffenderFilter;
+import dev.clutcher.security.throttle.RepeatOffenderGuard;
+import org.springframework.context.ApplicationContext;
+import org.springframework.security.config.Customizer;
+import org.springframework.security.config.annotation.web.HttpSecurityBuilder;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.config.annotation.web.configurers.ExceptionHandlingConfigurer;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.AccessDeniedHandler;
 import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.csrf.CsrfFilter;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Method;
 
 public class SpringSecurityExceptionFilterConfigurer extends AbstractHttpConfigurer<SpringSecurityExceptionFilterConfigurer, HttpSecurity> {
 
+    // ! One responder per chain, shared by the entry point and the filter in ENTRY_POINT mode
+    private SpringSecurityExceptionResponder responder;
+
+    @Override
+    public void init(HttpSecurity http) {
+        if (getIntegrationMode(http) == SecurityExceptionHandlerProperties.IntegrationMode.ENTRY_POINT) {
+            responder = new SpringSecurityExceptionResponder();
+            SpringSecurityExceptionEntryPoint entryPoint = this.postProcess(new SpringSecurityExceptionEntryPoint(responder));
+            // ! Added while initializing, so it runs after formLogin/httpBasic registered their default entry points
+            http.with(new EntryPointInstallingConfigurer(entryPoint), Customizer.withDefaults());
+        }
+    }
+
     @Override
     public void configure(HttpSecurity http) {
-        SpringSecurityExceptionFilter springSecurityExceptionFilter = new SpringSecurityExceptionFilter();
-        http.addFilterAfter(this.postProcess(springSecurityExceptionFilter), ExceptionTranslationFilter.class);
+        if (getIntegrationMode(http) == SecurityExceptionHandlerProperties.IntegrationMode.FILTER) {
+            SpringSecurityExceptionFilter springSecurityExceptionFilter = this.postProcess(new SpringSecurityExceptionFilter());
+            http.addFilterAfter(springSecurityExceptionFilter, ExceptionTranslationFilter.class);
+            addRepeatOffenderFilter(http, springSecurityExceptionFilter.getResponder());
+            return;
+        }
+
+        // ! Additional exception types and async/error dispatches never reach the entry point. A filter around
+        // ! ExceptionTranslationFilter covers them and is only added when one of them is configured, so successful
+        // ! requests stay free otherwise
+        SpringSecurityExceptionFilter springSecurityExceptionFilter = this.postProcess(new SpringSecurityExceptionFilter(responder));
+        if (!responder.getAdditionalExceptionTypes().isEmpty()
+                || springSecurityExceptionFilter.isAsyncDispatchEnabled()
+                || springSecurityExceptionFilter.isErrorDispatchEnabled()) {
+            http.addFilterBefore(springSecurityExceptionFilter, ExceptionTranslationFilter.class);
+        }
+        addRepeatOffenderFilter(http, responder);
+    }
+
+    private void addRepeatOffenderFilter(HttpSecurity http, SpringSecurityExceptionResponder responder) {
+        ApplicationContext context = http.getSharedObject(ApplicationContext.class);
+        RepeatOffenderGuard guard = context != null ? context.getBeanProvider(RepeatOffenderGuard.class).getIfAvailable() : null;
+        if (guard != null) {
+            // ! Ahead of CSRF, logout and every authentication filter, so offenders never reach credential checks
+            http.addFilterBefore(this.postProcess(new RepeatOffenderFilter(guard, responder)), CsrfFilter.class);
+        }
+    }
+
+    private SecurityExceptionHandlerProperties.IntegrationMode getIntegrationMode(HttpSecurity http) {
+        ApplicationContext context = http.getSharedObject(ApplicationContext.class);
+        if (context == null) {
+            return SecurityExceptionHandlerProperties.IntegrationMode.FILTER;
+        }
+        SecurityExceptionHandlerProperties properties = context.getBeanProvider(SecurityExceptionHandlerProperties.class).getIfAvailable();
+        return properties != null ? properties.getIntegrationMode() : SecurityExceptionHandlerProperties.IntegrationMode.FILTER;
+    }
+
+    /**
+     * Installs the entry point through {@code exceptionHandling()}, with the entry point and access denied handler it
+     * would have used otherwise, explicit ones or formLogin/httpBasic defaults, as fallbacks.
+     */
+    private static final class EntryPointInstallingConfigurer
+            extends AbstractHttpConfigurer<EntryPointInstallingConfigurer, HttpSecurity> {
+
+        // ! ExceptionHandlingConfigurer resolves its effective entry point and handler only in package-private methods
+        private static final Method RESOLVE_ENTRY_POINT = findResolver("getAuthenticationEntryPoint");
+        private static final Method RESOLVE_ACCESS_DENIED_HANDLER = findResolver("getAccessDeniedHandler");
+
+        private final SpringSecurityExceptionEntryPoint entryPoint;
+
+        private EntryPointInstallingConfigurer(SpringSecurityExceptionEntryPoint entryPoint) {
+            this.entryPoint = entryPoint;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void init(HttpSecurity http) {
+            ExceptionHandlingConfigurer<HttpSecurity> exceptionHandling = http.getConfigurer(ExceptionHandlingConfigurer.class);
+            if (exceptionHandling == null) {
+                return;
+            }
+            entryPoint.setFallbackEntryPoint(
+                    (AuthenticationEntryPoint) ReflectionUtils.invokeMethod(RESOLVE_ENTRY_POINT, exceptionHandling, http));
+            entryPoint.setFallbackAccessDeniedHandler(
+                    (AccessDeniedHandler) ReflectionUtils.invokeMethod(RESOLVE_ACCESS_DENIED_HANDLER, exceptionHandling, http));
+            exceptionHandling.authenticationEntryPoint(entryPoint)
+                             .accessDeniedHandler(entryPoint);
+        }
+
+        private static Method findResolver(String name) {
+            Method resolver = ReflectionUtils.findMethod(ExceptionHandlingConfigurer.class, name, HttpSecurityBuilder.class);
+            if (resolver == null) {
+                throw new IllegalStateException("ExceptionHandlingConfigurer." + name + "(HttpSecurityBuilder) not found, "
+                        + "ENTRY_POINT integration mode is not supported by this Spring Security version");
+            }
+            ReflectionUtils.makeAccessible(resolver);
+            return resolver;
+        }
     }
 }
@@ -1,64 +1,225 @@
 package dev.clutcher.security.starter;
 
+import dev.clutcher.security.audit.AuditLoggingSpringSecurityExceptionFilterListener;
+import dev.clutcher.security.audit.AuditPolicy;
+import dev.clutcher.security.dispatch.CachingHandlerDispatcherFactory;
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
+import dev.clutcher.security.entrypoint.SpringSecurityExceptionEntryPointCustomizer;
+import dev.clutcher.security.filter.SpringSecurityExceptionFilterCustomizer;
 import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
-import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
-import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
-import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
-import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import dev.clutcher.security.support.CacheStatistics;
+import dev.clutcher.security.throttle.RepeatOffenderGuard;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
 import org.springframework.boot.autoconfigure.AutoConfiguration;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.security.autoconfigure.SecurityAutoConfiguration;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.MessageSource;
 import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.core.env.Environment;
+
+import java.util.List;
+import java.util.Map;
 
 @AutoConfiguration
-@AutoConfigureAfter(SecurityAutoConfiguration.class)
+@AutoConfigureAfter(
+        value = SecurityAutoConfiguration.class,
+        name = "org.springframework.boot.micrometer.metrics.autoconfigure.CompositeMeterRegistryAutoConfiguration"
+)
 @EnableConfigurationProperties(SecurityExceptionHandlerProperties.class)
+@ImportRuntimeHints(SecurityExceptionHandlerRuntimeHints.class)
+@Import(PropertyDefinedSecurityExceptionHandlerRegistrar.class)
 public class SpringSecurityExceptionHandlerAutoConfiguration {
 
     @Bean
     @ConditionalOnMissingBean(name = "defaultSecurityExceptionHandler")
-    public SpringSecurityExceptionHandler defaultSecurityExceptionHandler(SecurityExceptionHandlerProperties properties) {
-        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get("default");
+    public SpringSecurityExceptionHandler defaultSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                          MessageSource messageSource) {
+        return SecurityExceptionHandlerFactory.create("default", properties, SecurityExceptionHandlerProperties.ResponseFormat.JSON, messageSource);
+    }
 
-        if (isEnabledHandler(config)) {
-            return null;
+    @Bean
+    @ConditionalOnMissingBean(name = "graphqlSecurityExceptionHandler")
+    public SpringSecurityExceptionHandler graphqlSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                          MessageSource messageSource) {
+        return SecurityExceptionHandlerFactory.create("graphql", properties, SecurityExceptionHandlerProperties.ResponseFormat.GRAPHQL, messageSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "problemSecurityExceptionHandler")
+    public SpringSecurityExceptionHandler problemSecurityExceptionHandler(SecurityExceptionHandlerProperties properties,
+                                                                          MessageSource messageSource) {
+        return SecurityExceptionHandlerFactory.create("problem", properties, SecurityExceptionHandlerProperties.ResponseFormat.PROBLEM, messageSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public AuditLoggingSpringSecurityExceptionFilterListener auditLoggingSpringSecurityExceptionFilterListener(SecurityExceptionHandlerProperties properties) {
+        AuditLoggingSpringSecurityExceptionFilterListener.Builder builder = AuditLoggingSpringSecurityExceptionFilterListener.builder();
+        boolean auditEnabled = false;
+        for (Map.Entry<String, SecurityExceptionHandlerProperties.HandlerConfig> entry : properties.getHandlers().entrySet()) {
+            SecurityExceptionHandlerProperties.HandlerConfig config = entry.getValue();
+            if (SecurityExceptionHandlerFactory.isDisabled(config) || !config.getAudit().isEnabled()) {
+                continue;
+            }
+            SecurityExceptionHandlerProperties.AuditConfig auditConfig = config.getAudit();
+            builder.handler(entry.getKey(), new AuditPolicy(
+                    auditConfig.getSampleRate(), auditConfig.getPermitsPerSecond(), auditConfig.getBurst()
+            ));
+            auditEnabled = true;
         }
 
-        return SpringSecurityExceptionHandlerBuilder.builder()
-                                                    .canHandle(new UrlMatchingPredicate(config.getUrls()))
-                                                    .handle(
-                                                            new ErrorResponseWritingConsumer(
-                                                                    ExceptionMappingFunctions.jsonBodyExceptionMapping()
-                                                            )
-                                                    )
-                                                    .order(config.getOrder())
-                                                    .build();
+        // ! Background logger thread is only started when at least one handler opted in
+        return auditEnabled ? builder.build() : null;
     }
 
     @Bean
-    @ConditionalOnMissingBean(name = "graphqlSecurityExceptionHandler")
-    public SpringSecurityExceptionHandler graphqlSecurityExceptionHandler(SecurityExceptionHandlerProperties properties) {
-        SecurityExceptionHandlerProperties.HandlerConfig config = properties.getHandlers().get("graphql");
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "dev.clutcher.security.validation", name = "enabled", matchIfMissing = true)
+    public DispatchPlanVerifier securityExceptionDispatchPlanVerifier(ObjectProvider<SpringSecurityExceptionHandler> handlers,
+                                                                     SecurityExceptionHandlerProperties properties) {
+        return new DispatchPlanVerifier(handlers, properties.getValidation().isFailOnError());
+    }
 
-        if (isEnabledHandler(config)) {
+    // ! Exposed as bean so it receives authentication failure events, the configurer adds its filter to every chain
+    @Bean
+    @ConditionalOnMissingBean
+    public RepeatOffenderGuard repeatOffenderGuard(SecurityExceptionHandlerProperties properties) {
+        SecurityExceptionHandlerProperties.EarlyRejectionConfig config = properties.getEarlyRejection();
+        if (!config.isEnabled()) {
             return null;
         }
 
-        return SpringSecurityExceptionHandlerBuilder.builder()
-                                                    .canHandle(new UrlMatchingPredicate(config.getUrls()))
-                                                    .handle(
-                                                            new ErrorResponseWritingConsumer(
-                                                                    ExceptionMappingFunctions.graphqlJsonBodyExceptionMapping()
-                                                            )
-                                                    )
-                                                    .order(config.getOrder())
-                                                    .build();
+        RepeatOffenderGuard.Builder builder = RepeatOffenderGuard.builder()
+                                                                 .threshold(config.getThreshold())
+                                                                 .window(config.getWindow())
+                                                                 .sketchWidth(config.getSketchWidth());
+        if (config.getClientKeyHeader() != null) {
+            builder.clientKeyHeader(config.getClientKeyHeader());
+        }
+        return builder.build();
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    @ConditionalOnProperty(prefix = "dev.clutcher.security.refresh", name = "enabled", matchIfMissing = true)
+    public SecurityExceptionHandlerRefresher securityExceptionHandlerRefresher(ConfigurableListableBeanFactory beanFactory,
+                                                                               Environment environment,
+                                                                               MessageSource messageSource) {
+        return new SecurityExceptionHandlerRefresher(beanFactory, environment, messageSource);
+    }
+
+    @Bean
+    @ConditionalOnMissingBean
+    public HandlerDispatcherFactory securityExceptionHandlerDispatcherFactory(SecurityExceptionHandlerProperties properties) {
+        HandlerDispatcherFactory dispatcherFactory =
+                properties.getDispatchStrategy() == SecurityExceptionHandlerProperties.DispatchStrategy.URL_INDEX
+                        ? HandlerDispatcherFactory.urlIndex()
+                        : HandlerDispatcherFactory.linear();
+
+        // ! Tenant groups are resolved by a hash lookup first, so the strategies above only see one tenant's handlers
+        SecurityExceptionHandlerProperties.TenantRoutingConfig tenantRouting = properties.getTenantRouting();
+        if (tenantRouting.isEnabled()) {
+            dispatcherFactory = HandlerDispatcherFactory.tenantRouting(tenantRouting.getHeader(), dispatcherFactory);
+        }
+
+        // ! Cache wraps tenant routing, so all tenant groups share one size-capped cache
+        SecurityExceptionHandlerProperties.DispatchCacheConfig cacheConfig = properties.getDispatchCache();
+        if (cacheConfig.isEnabled()) {
+            return HandlerDispatcherFactory.cached(dispatcherFactory, cacheConfig.getMaximumSize());
+        }
+        return dispatcherFactory;
     }
 
-    private boolean isEnabledHandler(SecurityExceptionHandlerProperties.HandlerConfig config) {
-        return config == null || !config.isEnabled();
+    @Bean
+    @ConditionalOnMissingBean(name = "springSecurityExceptionFilterCustomizer")
+    public SpringSecurityExceptionFilterCustomizer springSecurityExceptionFilterCustomizer(HandlerDispatcherFactory dispatcherFactory,
+                                                                                           SecurityExceptionHandlerProperties properties,
+                                                                                           ObjectProvider<SecurityExceptionHandlerRefresher> refresher) {
+        List<Class<? extends RuntimeException>> additionalExceptionTypes = properties.getAdditionalExceptionTypes()
+                                                                                     .stream()
+                                                                                     .map(ExceptionMappingFactory::resolveExceptionType)
+                                                                                     .toList();
+        return filter -> {
+            filter.setDispatcherFactory(dispatcherFactory);
+            filter.setAsyncDispatchEnabled(properties.isHandleAsyncDispatch());
+            filter.setErrorDispatchEnabled(properties.isHandleErrorDispatch());
+            filter.setAdditionalExceptionTypes(additionalExceptionTypes);
+            refresher.ifAvailable(handlerRefresher -> handlerRefresher.register(filter));
+        };
+    }
+
+    @Bean
+    @ConditionalOnMissingBean(name = "springSecurityExceptionEntryPointCustomizer")
+    public SpringSecurityExceptionEntryPointCustomizer springSecurityExceptionEntryPointCustomizer(HandlerDispatcherFactory dispatcherFactory,
+                                                                                                   ObjectProvider<SecurityExceptionHandlerRefresher> refresher) {
+        return entryPoint -> {
+            entryPoint.setDispatcherFactory(dispatcherFactory);
+            refresher.ifAvailable(handlerRefresher -> handlerRefresher.register(entryPoint));
+        };
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @ConditionalOnClass(MeterRegistry.class)
+    @ConditionalOnBean(MeterRegistry.class)
+    static class MetricsConfiguration {
+
+        private static final String DISPATCH_CACHE_GETS_METRIC = "spring.security.exceptions.dispatch.cache.gets";
+        private static final String DISPATCH_CACHE_EVICTIONS_METRIC = "spring.security.exceptions.dispatch.cache.evictions";
+        private static final String AUDIT_EVENTS_METRIC = "spring.security.exceptions.audit.events";
+
+        @Bean
+        @ConditionalOnMissingBean
+        public MicrometerSpringSecurityExceptionFilterListener micrometerSpringSecurityExceptionFilterListener(MeterRegistry meterRegistry) {
+            return new MicrometerSpringSecurityExceptionFilterListener(meterRegistry);
+        }
+
+        @Bean
+        public MeterBinder securityExceptionDispatchCacheMeterBinder(HandlerDispatcherFactory dispatcherFactory) {
+            return meterRegistry -> {
+                if (!(dispatcherFactory instanceof CachingHandlerDispatcherFactory cachingDispatcherFactory)) {
+                    return;
+                }
+                CacheStatistics statistics = cachingDispatcherFactory.getStatistics();
+                FunctionCounter.builder(DISPATCH_CACHE_GETS_METRIC, statistics, CacheStatistics::getHitCount)
+                               .tag("result", "hit")
+                               .register(meterRegistry);
+                FunctionCounter.builder(DISPATCH_CACHE_GETS_METRIC, statistics, CacheStatistics::getMissCount)
+                               .tag("result", "miss")
+                               .register(meterRegistry);
+                FunctionCounter.builder(DISPATCH_CACHE_EVICTIONS_METRIC, statistics, CacheStatistics::getEvictionCount)
+                               .register(meterRegistry);
+            };
+        }
+
+        @Bean
+        public MeterBinder securityExceptionAuditMeterBinder(ObjectProvider<AuditLoggingSpringSecurityExceptionFilterListener> auditListener) {
+            return meterRegistry -> auditListener.ifAvailable(listener -> {
+                FunctionCounter.builder(AUDIT_EVENTS_METRIC, listener, AuditLoggingSpringSecurityExceptionFilterListener::getLoggedCount)
+                               .tag("result", "logged")
+                               .register(meterRegistry);
+                FunctionCounter.builder(AUDIT_EVENTS_METRIC, listener, AuditLoggingSpringSecurityExceptionFilterListener::getSampledOutCount)
+                               .tag("result", "sampled_out")
+                               .register(meterRegistry);
+                FunctionCounter.builder(AUDIT_EVENTS_METRIC, listener, AuditLoggingSpringSecurityExceptionFilterListener::getRateLimitedCount)
+                               .tag("result", "rate_limited")
+                               .register(meterRegistry);
+                FunctionCounter.builder(AUDIT_EVENTS_METRIC, listener, AuditLoggingSpringSecurityExceptionFilterListener::getOverflowCount)
+                               .tag("result", "overflow")
+                               .register(meterRegistry);
+            });
+        }
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,80 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class MicrometerSpringSecurityExceptionFilterListenerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final MicrometerSpringSecurityExceptionFilterListener listener = new MicrometerSpringSecurityExceptionFilterListener(meterRegistry);
+
+    @Test
+    void shouldTagHandledExceptionsWithMatchingPatternAndStatus() {
+        // Given
+        SpringSecurityExceptionHandler handler = urlHandler("default", "/api/**", "/graphql");
+
+        // When
+        listener.onHandled(handler, new BadCredentialsException("Bad credentials"), request("/api/users"), response(401), 1_000);
+        listener.onHandled(handler, new BadCredentialsException("Bad credentials"), request("/api/users"), response(401), 1_000);
+        listener.onHandled(handler, new BadCredentialsException("Bad credentials"), request("/graphql"), response(401), 1_000);
+        listener.onHandled(handler, new AccessDeniedException("Access denied"), request("/api/users"), response(403), 1_000);
+
+        // Then
+        assertEquals(2.0, handledCounter("BadCredentialsException", "401", "/api/**").count());
+        assertEquals(1.0, handledCounter("BadCredentialsException", "401", "/graphql").count());
+        assertEquals(1.0, handledCounter("AccessDeniedException", "403", "/api/**").count());
+        assertEquals(3, meterRegistry.find(MicrometerSpringSecurityExceptionFilterListener.HANDLED_COUNTER).counters().size());
+    }
+
+    @Test
+    void shouldResolvePatternsOfRefreshedHandlerWithSameName() {
+        // Given
+        listener.onHandled(urlHandler("default", "/api/**", "/graphql"), new BadCredentialsException("Bad credentials"),
+                request("/graphql"), response(401), 1_000);
+
+        // When
+        listener.onHandled(urlHandler("default", "/**", "/api/**"), new BadCredentialsException("Bad credentials"),
+                request("/graphql"), response(401), 1_000);
+
+        // Then
+        assertEquals(1.0, handledCounter("BadCredentialsException", "401", "/graphql").count());
+        assertEquals(1.0, handledCounter("BadCredentialsException", "401", "/**").count());
+    }
+
+    private Counter handledCounter(String exception, String status, String pattern) {
+        return meterRegistry.get(MicrometerSpringSecurityExceptionFilterListener.HANDLED_COUNTER)
+                            .tags("handler", "default", "exception", exception, "status", status, "pattern", pattern)
+                            .counter();
+    }
+
+    private static SpringSecurityExceptionHandler urlHandler(String name, String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .name(name)
+                                                    .build();
+    }
+
+    private static MockHttpServletRequest request(String requestUri) {
+        return new MockHttpServletRequest("GET", requestUri);
+    }
+
+    private static MockHttpServletResponse response(int status) {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(status);
+        return response;
+    }
+}
@@ -0,0 +1,175 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.filter.SpringSecurityExceptionFilter;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.test.generate.TestGenerationContext;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContextInitializer;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.aot.ApplicationContextAotGenerator;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.core.test.tools.CompileWithForkedClassLoader;
+import org.springframework.core.test.tools.TestCompiler;
+import org.springframework.javapoet.ClassName;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PropertyDefinedSecurityExceptionHandlerRegistrarTest {
+
+    private static final String[] ADMIN_HANDLER_PROPERTIES = {
+            "dev.clutcher.security.handlers.admin.enabled=true",
+            "dev.clutcher.security.handlers.admin.urls=/admin/**",
+            "dev.clutcher.security.handlers.admin.order=5",
+            "dev.clutcher.security.handlers.admin.format=PROBLEM",
+            "dev.clutcher.security.handlers.disabled.enabled=false",
+            "dev.clutcher.security.handlers.disabled.urls=/disabled/**"
+    };
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SpringSecurityExceptionHandlerAutoConfiguration.class));
+
+    @Test
+    void shouldRegisterHandlerForEveryEnabledPropertyEntry() {
+        contextRunner.withPropertyValues(ADMIN_HANDLER_PROPERTIES).run(context -> {
+            // When
+            SpringSecurityExceptionHandler adminHandler = context.getBean("adminSecurityExceptionHandler", SpringSecurityExceptionHandler.class);
+
+            // Then
+            assertEquals("admin", adminHandler.getName());
+            assertEquals(5, adminHandler.getOrder());
+            assertTrue(adminHandler.canHandle(new MockHttpServletRequest("GET", "/admin/users")));
+            assertFalse(adminHandler.canHandle(new MockHttpServletRequest("GET", "/api/users")));
+            assertFalse(context.containsBean("disabledSecurityExceptionHandler"));
+            assertEquals("admin", context.getBeanFactory()
+                                         .getBeanDefinition("adminSecurityExceptionHandler")
+                                         .getAttribute(PropertyDefinedSecurityExceptionHandlerRegistrar.HANDLER_NAME_ATTRIBUTE));
+        });
+    }
+
+    @Test
+    void shouldKeepApplicationBeanWithSameName() {
+        contextRunner.withPropertyValues(ADMIN_HANDLER_PROPERTIES)
+                     .withUserConfiguration(AdminHandlerConfiguration.class)
+                     .run(context -> {
+                         // When
+                         SpringSecurityExceptionHandler adminHandler = context.getBean("adminSecurityExceptionHandler", SpringSecurityExceptionHandler.class);
+
+                         // Then
+                         assertEquals("application-admin", adminHandler.getName());
+                     });
+    }
+
+    @Test
+    void shouldRefreshPropertyDefinedHandlersAndKeepApplicationBeans() {
+        contextRunner.withPropertyValues(ADMIN_HANDLER_PROPERTIES)
+                     .withUserConfiguration(CustomHandlerConfiguration.class)
+                     .run(context -> {
+                         // Given
+                         SecurityExceptionHandlerRefresher refresher = context.getBean(SecurityExceptionHandlerRefresher.class);
+                         SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter();
+                         refresher.register(filter);
+
+                         // When
+                         refresher.refresh();
+
+                         // Then
+                         Map<String, SpringSecurityExceptionHandler> refreshed = filter.getDispatchPlan().getHandlers().stream()
+                                                                                       .collect(Collectors.toMap(SpringSecurityExceptionHandler::getName, Function.identity()));
+                         assertEquals(Set.of("default", "graphql", "admin", "custom"), refreshed.keySet());
+                         assertSame(context.getBean("customSecurityExceptionHandler"), refreshed.get("custom"));
+                     });
+    }
+
+    @Test
+    @CompileWithForkedClassLoader
+    void shouldRegisterHandlersFromAheadOfTimeGeneratedContext() {
+        // Given
+        MockEnvironment environment = environment(ADMIN_HANDLER_PROPERTIES);
+        GenericApplicationContext buildTimeContext = new GenericApplicationContext();
+        buildTimeContext.setEnvironment(environment);
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(buildTimeContext);
+        buildTimeContext.registerBean(SpringSecurityExceptionHandlerAutoConfiguration.class);
+        TestGenerationContext generationContext = new TestGenerationContext();
+
+        // When
+        ClassName initializerClassName = new ApplicationContextAotGenerator().processAheadOfTime(buildTimeContext, generationContext);
+        generationContext.writeGeneratedContent();
+
+        // Then
+        TestCompiler.forSystem().with(generationContext).compile(compiled -> {
+            GenericApplicationContext runtimeContext = new GenericApplicationContext();
+            runtimeContext.setEnvironment(environment(ADMIN_HANDLER_PROPERTIES));
+            @SuppressWarnings("unchecked")
+            ApplicationContextInitializer<GenericApplicationContext> initializer = compiled.getInstance(
+                    ApplicationContextInitializer.class, initializerClassName.toString());
+            initializer.initialize(runtimeContext);
+            runtimeContext.refresh();
+
+            SpringSecurityExceptionHandler adminHandler = runtimeContext.getBean("adminSecurityExceptionHandler", SpringSecurityExceptionHandler.class);
+            assertEquals("admin", adminHandler.getName());
+            assertEquals(5, adminHandler.getOrder());
+            assertFalse(runtimeContext.containsBean("disabledSecurityExceptionHandler"));
+
+            SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter();
+            SecurityExceptionHandlerRefresher refresher = runtimeContext.getBean(SecurityExceptionHandlerRefresher.class);
+            refresher.register(filter);
+            refresher.refresh();
+            assertEquals(List.of("graphql", "admin", "default"), filter.getDispatchPlan().getHandlers().stream()
+                                                                      .map(SpringSecurityExceptionHandler::getName)
+                                                                      .toList());
+            runtimeContext.close();
+        });
+    }
+
+    private static MockEnvironment environment(String... properties) {
+        MockEnvironment environment = new MockEnvironment();
+        for (String property : properties) {
+            String[] keyValue = property.split("=", 2);
+            environment.setProperty(keyValue[0], keyValue[1]);
+        }
+        return environment;
+    }
+
+    private static SpringSecurityExceptionHandler namedHandler(String name) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(request -> true)
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .name(name)
+                                                    .build();
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class AdminHandlerConfiguration {
+
+        @Bean
+        SpringSecurityExceptionHandler adminSecurityExceptionHandler() {
+            return namedHandler("application-admin");
+        }
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class CustomHandlerConfiguration {
+
+        @Bean
+        SpringSecurityExceptionHandler customSecurityExceptionHandler() {
+            return namedHandler("custom");
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.reactive.filter.SpringSecurityExceptionWebFilter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ReactiveWebApplicationContextRunner;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.config.annotation.web.reactive.EnableWebFluxSecurity;
+import org.springframework.security.config.web.server.ServerHttpSecurity;
+import org.springframework.security.web.server.SecurityWebFilterChain;
+import org.springframework.security.web.server.WebFilterChainProxy;
+import org.springframework.security.web.server.authorization.ExceptionTranslationWebFilter;
+import org.springframework.web.server.WebFilter;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ReactiveSpringSecurityExceptionHandlerAutoConfigurationTest {
+
+    private final ReactiveWebApplicationContextRunner contextRunner = new ReactiveWebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(ReactiveSpringSecurityExceptionHandlerAutoConfiguration.class))
+            .withUserConfiguration(SecurityConfiguration.class)
+            .withPropertyValues(
+                    "dev.clutcher.security.handlers.default.enabled=true",
+                    "dev.clutcher.security.handlers.default.urls=/api/**",
+                    "dev.clutcher.security.handlers.default.headers=X-Api-Client",
+                    "dev.clutcher.security.handlers.default.response-headers.X-Api-Version=2"
+            );
+
+    @Test
+    void shouldAddWebFilterOnceAfterExceptionTranslationInsteadOfRegisteringBean() {
+        contextRunner.run(context -> {
+            // When
+            List<WebFilter> webFilters = context.getBean(SecurityWebFilterChain.class).getWebFilters().collectList().block();
+
+            // Then
+            assertTrue(context.getBeansOfType(SpringSecurityExceptionWebFilter.class).isEmpty());
+            List<WebFilter> exceptionWebFilters = webFilters.stream().filter(SpringSecurityExceptionWebFilter.class::isInstance).toList();
+            assertEquals(1, exceptionWebFilters.size());
+            int filterIndex = webFilters.indexOf(exceptionWebFilters.get(0));
+            assertInstanceOf(ExceptionTranslationWebFilter.class, webFilters.get(filterIndex - 1));
+        });
+    }
+
+    @Test
+    void shouldAnswerWithHandlerHeadersWhenRequiredHeaderIsPresent() {
+        contextRunner.run(context -> {
+            // Given
+            MockServerWebExchange exchange = MockServerWebExchange.from(
+                    MockServerHttpRequest.get("/api/users").header("X-Api-Client", "mobile")
+            );
+
+            // When
+            context.getBean(WebFilterChainProxy.class).filter(exchange, e -> Mono.empty()).block();
+
+            // Then
+            assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+            assertEquals("2", exchange.getResponse().getHeaders().getFirst("X-Api-Version"));
+            assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}",
+                         exchange.getResponse().getBodyAsString().block());
+        });
+    }
+
+    @Test
+    void shouldLeaveExchangeToSpringSecurityWithoutRequiredHeader() {
+        contextRunner.run(context -> {
+            // Given
+            MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users"));
+
+            // When
+            context.getBean(WebFilterChainProxy.class).filter(exchange, e -> Mono.empty()).block();
+
+            // Then
+            assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+            assertNull(exchange.getResponse().getHeaders().getFirst("X-Api-Version"));
+        });
+    }
+
+    @Test
+    void shouldNegotiateFormatsLikeServletHandlers() {
+        contextRunner.withPropertyValues("dev.clutcher.security.handlers.default.formats=JSON,PROBLEM")
+                     .run(context -> {
+                         // Given
+                         MockServerWebExchange exchange = MockServerWebExchange.from(
+                                 MockServerHttpRequest.get("/api/users")
+                                                      .header("X-Api-Client", "mobile")
+                                                      .header("Accept", "application/problem+json")
+                         );
+
+                         // When
+                         context.getBean(WebFilterChainProxy.class).filter(exchange, e -> Mono.empty()).block();
+
+                         // Then
+                         assertEquals(HttpStatus.FORBIDDEN, exchange.getResponse().getStatusCode());
+                         assertEquals("application/problem+json", exchange.getResponse().getHeaders().getContentType().toString());
+                         assertEquals("Accept", exchange.getResponse().getHeaders().getFirst("Vary"));
+                     });
+    }
+
+    @Test
+    void shouldMatchDoubleWildcardInsidePatternLikeServletHandlers() {
+        contextRunner.withPropertyValues("dev.clutcher.security.handlers.default.urls=/**/users")
+                     .run(context -> {
+                         // Given
+                         MockServerWebExchange exchange = MockServerWebExchange.from(
+                                 MockServerHttpRequest.get("/api/v1/users").header("X-Api-Client", "mobile")
+                         );
+
+                         // When
+                         context.getBean(WebFilterChainProxy.class).filter(exchange, e -> Mono.empty()).block();
+
+                         // Then
+                         assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}",
+                                      exchange.getResponse().getBodyAsString().block());
+                     });
+    }
+
+    @Test
+    void shouldFailStartupForRequestConditionsNotSupportedInReactiveApplications() {
+        contextRunner.withPropertyValues("dev.clutcher.security.handlers.default.methods=POST")
+                     .run(context -> {
+                         // Then
+                         assertNotNull(context.getStartupFailure());
+                         assertTrue(context.getStartupFailure().getMessage().contains("[methods]"));
+                     });
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebFluxSecurity
+    static class SecurityConfiguration {
+
+        @Bean
+        SecurityWebFilterChain securityWebFilterChain(ServerHttpSecurity http) {
+            return http.authorizeExchange(exchanges -> exchanges.anyExchange().authenticated())
+                       .build();
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.entrypoint.SpringSecurityExceptionEntryPoint;
+import dev.clutcher.security.filter.SpringSecurityExceptionFilter;
+import dev.clutcher.security.throttle.RepeatOffenderFilter;
+import jakarta.servlet.Filter;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.WebApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.config.ObjectPostProcessor;
+import org.springframework.security.config.annotation.web.builders.HttpSecurity;
+import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.provisioning.InMemoryUserDetailsManager;
+import org.springframework.security.web.FilterChainProxy;
+import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.ExceptionTranslationFilter;
+import org.springframework.security.web.authentication.www.BasicAuthenticationFilter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpringSecurityExceptionFilterConfigurerTest {
+
+    private final WebApplicationContextRunner contextRunner = new WebApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SpringSecurityExceptionHandlerAutoConfiguration.class))
+            .withUserConfiguration(SecurityConfiguration.class)
+            .withPropertyValues(
+                    "dev.clutcher.security.handlers.default.enabled=true",
+                    "dev.clutcher.security.handlers.default.urls=/api/**"
+            );
+
+    private final WebApplicationContextRunner entryPointContextRunner = contextRunner.withPropertyValues(
+            "dev.clutcher.security.integration-mode=ENTRY_POINT"
+    );
+
+    @Test
+    void shouldAnswerMatchingRequestsWithHandlerInEntryPointMode() throws Exception {
+        entryPointContextRunner.run(context -> {
+            // When
+            MockHttpServletResponse response = perform(context, request("/api/users"));
+
+            // Then
+            assertEquals(401, response.getStatus());
+            assertEquals("{\"code\":\"AUTHENTICATION_ERROR\",\"message\":\"Authentication required\"}", response.getContentAsString());
+        });
+    }
+
+    @Test
+    void shouldDelegateToEntryPointOfHttpBasicWhenNoHandlerMatches() throws Exception {
+        entryPointContextRunner.run(context -> {
+            // When
+            MockHttpServletResponse response = perform(context, request("/public"));
+
+            // Then
+            assertEquals(401, response.getStatus());
+            assertEquals("Basic realm=\"Realm\"", response.getHeader("WWW-Authenticate"));
+        });
+    }
+
+    @Test
+    void shouldDelegateToConfiguredAccessDeniedHandlerWhenNoHandlerMatches() throws Exception {
+        entryPointContextRunner.run(context -> {
+            // When
+            MockHttpServletResponse response = perform(context, basicRequest("/admin", "user:password"));
+
+            // Then
+            assertEquals(418, response.getStatus());
+        });
+    }
+
+    @Test
+    void shouldInstallEntryPointOnTranslationFilterBuiltByExceptionHandling() {
+        entryPointContextRunner.run(context -> {
+            // When
+            List<Filter> filters = context.getBean(FilterChainProxy.class).getFilters("/api/users");
+
+            // Then
+            ExceptionTranslationFilter translationFilter = (ExceptionTranslationFilter) filters.get(indexOf(filters, ExceptionTranslationFilter.class));
+            assertSame(context.getBean(PostProcessedTranslationFilter.class).filter, translationFilter);
+            assertInstanceOf(SpringSecurityExceptionEntryPoint.class, translationFilter.getAuthenticationEntryPoint());
+        });
+    }
+
+    @Test
+    void shouldNotAddFilterInEntryPointModeWithoutFilterOnlyFeatures() {
+        entryPointContextRunner.run(context -> {
+            // When
+            List<Filter> filters = context.getBean(FilterChainProxy.class).getFilters("/api/users");
+
+            // Then
+            assertFalse(filters.stream().anyMatch(SpringSecurityExceptionFilter.class::isInstance));
+        });
+    }
+
+    @Test
+    void shouldAddFilterBeforeTranslationFilterForAdditionalExceptionTypesInEntryPointMode() {
+        entryPointContextRunner.withPropertyValues("dev.clutcher.security.additional-exception-types=java.lang.IllegalStateException")
+                               .run(context -> {
+                                   // When
+                                   List<Filter> filters = context.getBean(FilterChainProxy.class).getFilters("/api/users");
+
+                                   // Then
+                                   int filterIndex = indexOf(filters, SpringSecurityExceptionFilter.class);
+                                   assertTrue(filterIndex >= 0);
+                                   assertInstanceOf(ExceptionTranslationFilter.class, filters.get(filterIndex + 1));
+                               });
+    }
+
+    @Test
+    void shouldRejectRepeatOffenderBeforeAuthentication() {
+        contextRunner.withPropertyValues(
+                "dev.clutcher.security.early-rejection.enabled=true",
+                "dev.clutcher.security.early-rejection.threshold=2"
+        ).run(context -> {
+            // Given
+            CountingUserDetailsService userDetailsService = context.getBean(CountingUserDetailsService.class);
+            perform(context, basicRequest("/api/users", "user:wrong"));
+            perform(context, basicRequest("/api/users", "user:wrong"));
+            int lookupsBeforeRejection = userDetailsService.lookups.get();
+            MockFilterChain chain = new MockFilterChain();
+            MockHttpServletResponse response = new MockHttpServletResponse();
+
+            // When
+            context.getBean(FilterChainProxy.class).doFilter(basicRequest("/api/users", "user:password"), response, chain);
+
+            // Then
+            assertEquals(2, lookupsBeforeRejection);
+            assertEquals(401, response.getStatus());
+            assertEquals(lookupsBeforeRejection, userDetailsService.lookups.get());
+            assertNull(chain.getRequest());
+        });
+    }
+
+    @Test
+    void shouldPlaceRepeatOffenderFilterBeforeAuthenticationFilters() {
+        entryPointContextRunner.withPropertyValues("dev.clutcher.security.early-rejection.enabled=true")
+                               .run(context -> {
+                                   // When
+                                   List<Filter> filters = context.getBean(FilterChainProxy.class).getFilters("/api/users");
+
+                                   // Then
+                                   assertTrue(indexOf(filters, RepeatOffenderFilter.class) >= 0);
+                                   assertTrue(indexOf(filters, RepeatOffenderFilter.class) < indexOf(filters, BasicAuthenticationFilter.class));
+                               });
+    }
+
+    static MockHttpServletRequest basicRequest(String requestUri, String credentials) {
+        MockHttpServletRequest request = request(requestUri);
+        request.addHeader("Authorization", "Basic " + Base64.getEncoder().encodeToString(credentials.getBytes(StandardCharsets.UTF_8)));
+        return request;
+    }
+
+    static MockHttpServletRequest request(String requestUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+        request.setServletPath(requestUri);
+        return request;
+    }
+
+    static MockHttpServletResponse perform(ApplicationContext context, MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        context.getBean(FilterChainProxy.class).doFilter(request, response, new MockFilterChain());
+        return response;
+    }
+
+    private static int indexOf(List<Filter> filters, Class<? extends Filter> filterType) {
+        for (int i = 0; i < filters.size(); i++) {
+            if (filterType.isInstance(filters.get(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableWebSecurity
+    static class SecurityConfiguration {
+
+        @Bean
+        SecurityFilterChain securityFilterChain(HttpSecurity http, PostProcessedTranslationFilter postProcessed) throws Exception {
+            return http.authorizeHttpRequests(authorize -> authorize.requestMatchers("/admin").hasRole("ADMIN")
+                                                                    .anyRequest().authenticated())
+                       .httpBasic(httpBasic -> {
+                       })
+                       .exceptionHandling(exceptionHandling -> exceptionHandling.accessDeniedHandler(
+                               (request, response, exception) -> response.setStatus(418)
+                       ).withObjectPostProcessor(postProcessed))
+                       .build();
+        }
+
+        @Bean
+        PostProcessedTranslationFilter postProcessedTranslationFilter() {
+            return new PostProcessedTranslationFilter();
+        }
+
+        @Bean
+        CountingUserDetailsService userDetailsService() {
+            return new CountingUserDetailsService(
+                    new InMemoryUserDetailsManager(User.withUsername("user").password("{noop}password").roles("USER").build())
+            );
+        }
+    }
+
+    static class PostProcessedTranslationFilter implements ObjectPostProcessor<ExceptionTranslationFilter> {
+
+        private ExceptionTranslationFilter filter;
+
+        @Override
+        public <O extends ExceptionTranslationFilter> O postProcess(O object) {
+            filter = object;
+            return object;
+        }
+    }
+
+    static class CountingUserDetailsService implements UserDetailsService {
+
+        private final UserDetailsService delegate;
+        private final AtomicInteger lookups = new AtomicInteger();
+
+        CountingUserDetailsService(UserDetailsService delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public UserDetails loadUserByUsername(String username) {
+            lookups.incrementAndGet();
+            return delegate.loadUserByUsername(username);
+        }
+    }
+}
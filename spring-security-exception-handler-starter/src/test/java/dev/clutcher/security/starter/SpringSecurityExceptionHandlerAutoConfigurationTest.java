@@ -0,0 +1,241 @@
+package dev.clutcher.security.starter;
+
+import dev.clutcher.security.dispatch.CachingHandlerDispatcherFactory;
+import dev.clutcher.security.dispatch.HandlerDispatcher;
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
+import dev.clutcher.security.dispatch.TenantRoutingHandlerDispatcherFactory;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlPatternPredicate;
+import dev.clutcher.security.throttle.RepeatOffenderGuard;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.support.StaticMessageSource;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.LockedException;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SpringSecurityExceptionHandlerAutoConfigurationTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withConfiguration(AutoConfigurations.of(SpringSecurityExceptionHandlerAutoConfiguration.class));
+
+    @Test
+    void shouldRegisterDefaultAndGraphqlHandlersByDefault() {
+        contextRunner.run(context -> {
+            // Then
+            assertNull(context.getStartupFailure());
+            assertEquals(2, context.getBeansOfType(SpringSecurityExceptionHandler.class).size());
+            assertEquals(100, handler(context, "default").getOrder());
+            assertEquals(0, handler(context, "graphql").getOrder());
+            assertNull(context.getBeanProvider(RepeatOffenderGuard.class).getIfAvailable());
+        });
+    }
+
+    @Test
+    void shouldApplyConfiguredFormatAndExceptionMappings() {
+        contextRunner.withPropertyValues(
+                "dev.clutcher.security.handlers.default.enabled=true",
+                "dev.clutcher.security.handlers.default.urls=/**",
+                "dev.clutcher.security.handlers.default.format=PROBLEM",
+                "dev.clutcher.security.handlers.default.exceptions[0].type=org.springframework.security.authentication.LockedException",
+                "dev.clutcher.security.handlers.default.exceptions[0].status=423",
+                "dev.clutcher.security.handlers.default.exceptions[0].code=ACCOUNT_LOCKED"
+        ).run(context -> {
+            // When
+            MockHttpServletResponse response = handle(handler(context, "default"), new LockedException("locked"), request("/api"));
+
+            // Then
+            assertEquals(423, response.getStatus());
+            assertEquals("application/problem+json", response.getContentType());
+        });
+    }
+
+    @Test
+    void shouldMatchConfiguredRequestHeaders() {
+        contextRunner.withPropertyValues(
+                "dev.clutcher.security.handlers.default.enabled=true",
+                "dev.clutcher.security.handlers.default.urls=/**",
+                "dev.clutcher.security.handlers.default.headers=X-Api-Key"
+        ).run(context -> {
+            // Given
+            SpringSecurityExceptionHandler handler = handler(context, "default");
+            MockHttpServletRequest apiRequest = request("/api");
+            apiRequest.addHeader("X-Api-Key", "key");
+
+            // When / Then
+            assertTrue(handler.canHandle(apiRequest));
+            assertFalse(handler.canHandle(request("/api")));
+            assertInstanceOf(RequestMatchingPredicate.class, handler.getCanHandlePredicate());
+        });
+    }
+
+    @Test
+    void shouldApplyHandlerAndExceptionResponseHeaders() {
+        contextRunner.withPropertyValues(
+                "dev.clutcher.security.handlers.default.enabled=true",
+                "dev.clutcher.security.handlers.default.urls=/**",
+                "dev.clutcher.security.handlers.default.response-headers[Cache-Control]=no-store",
+                "dev.clutcher.security.handlers.default.exceptions[0].type=org.springframework.security.core.AuthenticationException",
+                "dev.clutcher.security.handlers.default.exceptions[0].status=401",
+                "dev.clutcher.security.handlers.default.exceptions[0].code=UNAUTHORIZED",
+                "dev.clutcher.security.handlers.default.exceptions[0].response-headers[WWW-Authenticate]=Bearer"
+        ).run(context -> {
+            // Given
+            SpringSecurityExceptionHandler handler = handler(context, "default");
+
+            // When
+            MockHttpServletResponse unauthorized = handle(handler, new BadCredentialsException("bad"), request("/api"));
+            MockHttpServletResponse forbidden = handle(handler, new AccessDeniedException("denied"), request("/api"));
+
+            // Then
+            assertInstanceOf(UrlPatternPredicate.class, handler.getCanHandlePredicate());
+            assertEquals("no-store", unauthorized.getHeader("Cache-Control"));
+            assertEquals("Bearer", unauthorized.getHeader("WWW-Authenticate"));
+            assertEquals("no-store", forbidden.getHeader("Cache-Control"));
+            assertNull(forbidden.getHeader("WWW-Authenticate"));
+        });
+    }
+
+    @Test
+    void shouldResolveLocalizedMessagesPerLocale() {
+        contextRunner.withUserConfiguration(MessageSourceConfiguration.class)
+                     .withPropertyValues(
+                             "dev.clutcher.security.handlers.default.enabled=true",
+                             "dev.clutcher.security.handlers.default.urls=/**",
+                             "dev.clutcher.security.handlers.default.locales=en,de"
+                     ).run(context -> {
+                         // Given
+                         MockHttpServletRequest germanRequest = request("/api");
+                         germanRequest.addHeader("Accept-Language", "de-AT");
+
+                         // When
+                         MockHttpServletResponse german = handle(handler(context, "default"), new BadCredentialsException("bad"), germanRequest);
+                         MockHttpServletResponse english = handle(handler(context, "default"), new BadCredentialsException("bad"), request("/api"));
+
+                         // Then
+                         assertEquals("{\"code\":\"AUTHENTICATION_ERROR\",\"message\":\"Anmeldung erforderlich\"}", german.getContentAsString());
+                         assertEquals("{\"code\":\"AUTHENTICATION_ERROR\",\"message\":\"Authentication required\"}", english.getContentAsString());
+                         assertEquals("Accept-Language", german.getHeader("Vary"));
+                     });
+    }
+
+    @Test
+    void shouldRouteTenantHandlersByHost() {
+        contextRunner.withPropertyValues(
+                "dev.clutcher.security.tenant-routing.enabled=true",
+                "dev.clutcher.security.handlers.acme.enabled=true",
+                "dev.clutcher.security.handlers.acme.urls=/**",
+                "dev.clutcher.security.handlers.acme.order=10",
+                "dev.clutcher.security.handlers.acme.tenants=acme.example.com"
+        ).run(context -> {
+            // Given
+            HandlerDispatcherFactory dispatcherFactory = context.getBean(HandlerDispatcherFactory.class);
+            MockHttpServletRequest acmeRequest = request("/api");
+            acmeRequest.setServerName("acme.example.com");
+
+            // When
+            HandlerDispatcher dispatcher = dispatcherFactory.create(context.getBeanProvider(SpringSecurityExceptionHandler.class).stream().toList());
+
+            // Then
+            assertInstanceOf(TenantRoutingHandlerDispatcherFactory.class, dispatcherFactory);
+            assertEquals("acme", dispatcher.resolve(acmeRequest).getName());
+            assertEquals("default", dispatcher.resolve(request("/api")).getName());
+        });
+    }
+
+    @Test
+    void shouldShareOneDispatchCacheAcrossTenantGroups() {
+        contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new).withPropertyValues(
+                "dev.clutcher.security.tenant-routing.enabled=true",
+                "dev.clutcher.security.dispatch-cache.enabled=true",
+                "dev.clutcher.security.handlers.acme.enabled=true",
+                "dev.clutcher.security.handlers.acme.urls=/**",
+                "dev.clutcher.security.handlers.acme.order=10",
+                "dev.clutcher.security.handlers.acme.tenants=acme.example.com"
+        ).run(context -> {
+            // Given
+            HandlerDispatcherFactory dispatcherFactory = context.getBean(HandlerDispatcherFactory.class);
+            HandlerDispatcher dispatcher = dispatcherFactory.create(context.getBeanProvider(SpringSecurityExceptionHandler.class).stream().toList());
+            MockHttpServletRequest acmeRequest = request("/api");
+            acmeRequest.setServerName("acme.example.com");
+
+            // When
+            String firstAcmeHandler = dispatcher.resolve(acmeRequest).getName();
+            String firstDefaultHandler = dispatcher.resolve(request("/api")).getName();
+            String cachedAcmeHandler = dispatcher.resolve(acmeRequest).getName();
+            String cachedDefaultHandler = dispatcher.resolve(request("/api")).getName();
+
+            // Then
+            CachingHandlerDispatcherFactory cachingDispatcherFactory = assertInstanceOf(CachingHandlerDispatcherFactory.class, dispatcherFactory);
+            assertEquals(List.of("acme", "default", "acme", "default"),
+                    List.of(firstAcmeHandler, firstDefaultHandler, cachedAcmeHandler, cachedDefaultHandler));
+            assertEquals(2, cachingDispatcherFactory.getStatistics().getHitCount());
+            SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+            context.getBean("securityExceptionDispatchCacheMeterBinder", MeterBinder.class).bindTo(meterRegistry);
+            assertEquals(2.0, meterRegistry.get("spring.security.exceptions.dispatch.cache.gets").tag("result", "hit")
+                                           .functionCounter().count());
+        });
+    }
+
+    @Test
+    void shouldCreateRepeatOffenderGuardWhenEarlyRejectionIsEnabled() {
+        contextRunner.withPropertyValues("dev.clutcher.security.early-rejection.enabled=true")
+                     .run(context -> assertInstanceOf(RepeatOffenderGuard.class, context.getBean("repeatOffenderGuard")));
+    }
+
+    @Test
+    void shouldRegisterMetricsListenerWhenMeterRegistryIsPresent() {
+        contextRunner.withBean(MeterRegistry.class, SimpleMeterRegistry::new)
+                     .run(context -> {
+                         // Then
+                         assertNull(context.getStartupFailure());
+                         assertEquals(1, context.getBeansOfType(MicrometerSpringSecurityExceptionFilterListener.class).size());
+                     });
+    }
+
+    static SpringSecurityExceptionHandler handler(ApplicationContext context, String name) {
+        return context.getBean(name + PropertyDefinedSecurityExceptionHandlerRegistrar.BEAN_NAME_SUFFIX, SpringSecurityExceptionHandler.class);
+    }
+
+    static MockHttpServletRequest request(String requestUri) {
+        return new MockHttpServletRequest("GET", requestUri);
+    }
+
+    static MockHttpServletResponse handle(SpringSecurityExceptionHandler handler, RuntimeException exception,
+                                          MockHttpServletRequest request) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        handler.handle(exception, request, response);
+        return response;
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class MessageSourceConfiguration {
+
+        @Bean
+        StaticMessageSource messageSource() {
+            StaticMessageSource messageSource = new StaticMessageSource();
+            messageSource.addMessage(ExceptionMessageLocalizer.MESSAGE_KEY_PREFIX + "AUTHENTICATION_ERROR", Locale.GERMAN,
+                    "Anmeldung erforderlich");
+            return messageSource;
+        }
+    }
+}
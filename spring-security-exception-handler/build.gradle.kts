@@ -8,10 +8,13 @@ dependencies {
     compileOnly("org.springframework.security:spring-security-web")
 
     compileOnly("jakarta.servlet:jakarta.servlet-api:6.0.0")
+    compileOnly("org.springframework:spring-webflux")
 
     testImplementation("org.springframework.security:spring-security-core")
     testImplementation("org.springframework.security:spring-security-web")
     testImplementation("jakarta.servlet:jakarta.servlet-api:6.0.0")
+    testImplementation("org.springframework:spring-webflux")
+    testImplementation("org.springframework:spring-test")
     testImplementation("org.mockito:mockito-junit-jupiter:5.18.0")
 
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
@@ -0,0 +1,5 @@
+package dev.clutcher.security.audit;
+
+record AuditEvent(long timestamp, String handlerName, String exceptionType, String exceptionMessage, int status,
+                  String method, String requestUri, String remoteAddress) {
+}
@@ -0,0 +1,230 @@
+package dev.clutcher.security.audit;
+
+import dev.clutcher.security.filter.SpringSecurityExceptionFilterListener;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.support.BoundedRingBuffer;
+import dev.clutcher.security.support.TokenBucket;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+public class AuditLoggingSpringSecurityExceptionFilterListener implements SpringSecurityExceptionFilterListener, AutoCloseable {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1024;
+
+    private static final Log DEFAULT_LOG = LogFactory.getLog(AuditLoggingSpringSecurityExceptionFilterListener.class);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = 1000;
+
+    private final Map<String, HandlerAudit> handlerAudits;
+    private final BoundedRingBuffer<AuditEvent> buffer;
+    private final Log log;
+    private volatile Thread worker;
+    private volatile boolean running = true;
+    private volatile boolean idle;
+
+    private final LongAdder logged = new LongAdder();
+    private final LongAdder sampledOut = new LongAdder();
+    private final LongAdder rateLimited = new LongAdder();
+    private final LongAdder overflowed = new LongAdder();
+
+    private AuditLoggingSpringSecurityExceptionFilterListener(Builder builder) {
+        Map<String, HandlerAudit> audits = new HashMap<>();
+        builder.policies.forEach((handlerName, policy) -> audits.put(handlerName, new HandlerAudit(policy)));
+        this.handlerAudits = Map.copyOf(audits);
+        this.buffer = new BoundedRingBuffer<>(builder.bufferSize);
+        this.log = builder.log;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public void onHandled(SpringSecurityExceptionHandler handler, RuntimeException exception,
+                          HttpServletRequest request, HttpServletResponse response, long durationNanos) {
+        HandlerAudit audit = handlerAudits.get(handler.getName());
+        if (audit == null) {
+            return;
+        }
+        double sampleRate = audit.policy.sampleRate();
+        if (sampleRate < 1 && ThreadLocalRandom.current().nextDouble() >= sampleRate) {
+            sampledOut.increment();
+            return;
+        }
+        if (!audit.buckets.get(exception.getClass()).tryAcquire()) {
+            rateLimited.increment();
+            return;
+        }
+
+        AuditEvent event = new AuditEvent(
+                System.currentTimeMillis(),
+                handler.getName(),
+                exception.getClass().getName(),
+                exception.getMessage(),
+                response.getStatus(),
+                request.getMethod(),
+                request.getRequestURI(),
+                request.getRemoteAddr()
+        );
+        if (!buffer.offer(event)) {
+            overflowed.increment();
+            return;
+        }
+        Thread current = worker != null ? worker : startWorker();
+        if (current != null && idle) {
+            LockSupport.unpark(current);
+        }
+    }
+
+    public long getLoggedCount() {
+        return logged.sum();
+    }
+
+    public long getSampledOutCount() {
+        return sampledOut.sum();
+    }
+
+    public long getRateLimitedCount() {
+        return rateLimited.sum();
+    }
+
+    // Events which passed sampling and rate limiting but didn't fit into the buffer
+    public long getOverflowCount() {
+        return overflowed.sum();
+    }
+
+    public long getDroppedCount() {
+        return sampledOut.sum() + rateLimited.sum() + overflowed.sum();
+    }
+
+    @Override
+    public void close() {
+        Thread current;
+        synchronized (this) {
+            running = false;
+            current = worker;
+        }
+        if (current == null) {
+            return;
+        }
+        LockSupport.unpark(current);
+        try {
+            current.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // ! Appenders run on a single background thread, started with the first event, request threads only enqueue
+    private synchronized Thread startWorker() {
+        if (worker == null && running) {
+            Thread thread = new Thread(this::drain, "security-exception-audit");
+            thread.setDaemon(true);
+            thread.start();
+            worker = thread;
+        }
+        return worker;
+    }
+
+    private void drain() {
+        while (true) {
+            AuditEvent event = buffer.poll();
+            if (event == null) {
+                // ! Polled again after announcing idleness, so an event offered in between is either seen here
+                // ! or its producer unparks this thread
+                idle = true;
+                event = buffer.poll();
+                if (event == null) {
+                    if (!running) {
+                        return;
+                    }
+                    LockSupport.park(this);
+                }
+                idle = false;
+                if (event == null) {
+                    continue;
+                }
+            }
+            try {
+                if (log.isInfoEnabled()) {
+                    log.info(format(event));
+                }
+                logged.increment();
+            } catch (RuntimeException e) {
+                // ! Misbehaving appender must not stop the audit thread
+            }
+        }
+    }
+
+    private static String format(AuditEvent event) {
+        return "Security exception handled [handler=" + event.handlerName()
+                + ", exception=" + event.exceptionType()
+                + ", status=" + event.status()
+                + ", method=" + sanitize(event.method())
+                + ", uri=" + sanitize(event.requestUri())
+                + ", remoteAddress=" + sanitize(event.remoteAddress())
+                + ", timestamp=" + Instant.ofEpochMilli(event.timestamp())
+                + "]: " + sanitize(event.exceptionMessage());
+    }
+
+    private static String sanitize(String value) {
+        if (value == null) {
+            return "";
+        }
+        // ! Request data is attacker controlled, line breaks would allow forging log entries
+        return value.replace('\r', '_').replace('\n', '_');
+    }
+
+    private static final class HandlerAudit {
+
+        private final AuditPolicy policy;
+        private final ClassValue<TokenBucket> buckets;
+
+        private HandlerAudit(AuditPolicy policy) {
+            this.policy = policy;
+            this.buckets = new ClassValue<>() {
+                @Override
+                protected TokenBucket computeValue(Class<?> type) {
+                    return new TokenBucket(policy.permitsPerSecond(), policy.burst());
+                }
+            };
+        }
+    }
+
+    public static class Builder {
+
+        private final Map<String, AuditPolicy> policies = new HashMap<>();
+        private int bufferSize = DEFAULT_BUFFER_SIZE;
+        private Log log = DEFAULT_LOG;
+
+        private Builder() {
+        }
+
+        public Builder handler(String handlerName, AuditPolicy policy) {
+            this.policies.put(handlerName, policy);
+            return this;
+        }
+
+        public Builder bufferSize(int bufferSize) {
+            this.bufferSize = bufferSize;
+            return this;
+        }
+
+        public Builder log(Log log) {
+            this.log = log;
+            return this;
+        }
+
+        public AuditLoggingSpringSecurityExceptionFilterListener build() {
+            return new AuditLoggingSpringSecurityExceptionFilterListener(this);
+        }
+    }
+}
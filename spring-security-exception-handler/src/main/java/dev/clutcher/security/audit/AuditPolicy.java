@@ -0,0 +1,17 @@
+package dev.clutcher.security.audit;
+
+public record AuditPolicy(double sampleRate, double permitsPerSecond, int burst) {
+
+    public AuditPolicy {
+        if (sampleRate < 0 || sampleRate > 1) {
+            throw new IllegalArgumentException("Sample rate must be between 0 and 1");
+        }
+        if (permitsPerSecond <= 0) {
+            throw new IllegalArgumentException("Permits per second must be positive");
+        }
+        if (burst <= 0) {
+            throw new IllegalArgumentException("Burst must be positive");
+        }
+    }
+
+}
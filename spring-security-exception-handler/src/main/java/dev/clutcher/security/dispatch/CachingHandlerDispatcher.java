@@ -0,0 +1,110 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlPatternPredicate;
+import dev.clutcher.security.support.BoundedCache;
+import dev.clutcher.security.support.CacheStatistics;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+public class CachingHandlerDispatcher implements HandlerDispatcher {
+
+    private static final Resolution NO_HANDLER = new Resolution(null, Integer.MAX_VALUE);
+
+    private final SpringSecurityExceptionHandler[] handlers;
+    private final int[] uncachedRanks;
+    private final HandlerDispatcher urlDispatcher;
+    private final boolean tenantRouting;
+    private final String tenantHeader;
+    private final Map<SpringSecurityExceptionHandler, Resolution> resolutions = new IdentityHashMap<>();
+    private final BoundedCache<String, Resolution> cache;
+
+    public CachingHandlerDispatcher(List<SpringSecurityExceptionHandler> handlers, HandlerDispatcherFactory delegateFactory,
+                                    int maximumSize, CacheStatistics statistics) {
+        List<SpringSecurityExceptionHandler> sortedHandlers = new ArrayList<>(handlers);
+        sortedHandlers.sort(Comparator.comparingInt(Ordered::getOrder));
+        this.handlers = sortedHandlers.toArray(new SpringSecurityExceptionHandler[0]);
+
+        // ! Wrapping tenant routing keeps one cache for all tenant groups, keyed by tenant and URI, so the heap
+        // ! doesn't grow with the number of tenants
+        this.tenantRouting = delegateFactory instanceof TenantRoutingHandlerDispatcherFactory;
+        this.tenantHeader = tenantRouting ? ((TenantRoutingHandlerDispatcherFactory) delegateFactory).getTenantHeader() : null;
+
+        // ! Only handlers which decide purely on request URI can be cached by URI, others are evaluated on every lookup
+        List<SpringSecurityExceptionHandler> urlHandlers = new ArrayList<>();
+        List<Integer> uncached = new ArrayList<>();
+        for (int rank = 0; rank < this.handlers.length; rank++) {
+            SpringSecurityExceptionHandler handler = this.handlers[rank];
+            if (isCacheable(handler.getCanHandlePredicate())) {
+                urlHandlers.add(handler);
+                resolutions.put(handler, new Resolution(handler, rank));
+            } else {
+                uncached.add(rank);
+            }
+        }
+        this.uncachedRanks = uncached.stream().mapToInt(Integer::intValue).toArray();
+        this.urlDispatcher = delegateFactory.create(urlHandlers);
+        this.cache = new BoundedCache<>(maximumSize, statistics);
+    }
+
+    @Override
+    public SpringSecurityExceptionHandler resolve(HttpServletRequest request) {
+        Resolution resolution = resolveByUrl(request);
+
+        for (int rank : uncachedRanks) {
+            if (rank >= resolution.rank()) {
+                break;
+            }
+            if (handlers[rank].canHandle(request)) {
+                return handlers[rank];
+            }
+        }
+        return resolution.handler();
+    }
+
+    private Resolution resolveByUrl(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        if (requestUri == null) {
+            return resolveUncached(request);
+        }
+
+        String cacheKey = requestUri;
+        if (tenantRouting) {
+            String tenant = TenantMatchingPredicate.resolveTenant(request, tenantHeader);
+            // ! Header values can't contain a line feed, so tenant and URI can't run into each other
+            cacheKey = tenant == null ? requestUri : tenant + '\n' + requestUri;
+        }
+        Resolution resolution = cache.get(cacheKey);
+        if (resolution == null) {
+            // ! "No handler" results are cached as well, so unmatched URIs don't rerun the scan
+            resolution = resolveUncached(request);
+            cache.put(cacheKey, resolution);
+        }
+        return resolution;
+    }
+
+    private boolean isCacheable(Predicate<HttpServletRequest> predicate) {
+        if (tenantRouting && predicate instanceof TenantMatchingPredicate tenantPredicate
+                && Objects.equals(tenantHeader, tenantPredicate.getTenantHeader())) {
+            return tenantPredicate.getDelegate() instanceof UrlPatternPredicate;
+        }
+        return predicate instanceof UrlPatternPredicate;
+    }
+
+    private Resolution resolveUncached(HttpServletRequest request) {
+        SpringSecurityExceptionHandler handler = urlDispatcher.resolve(request);
+        return handler == null ? NO_HANDLER : resolutions.get(handler);
+    }
+
+    private record Resolution(SpringSecurityExceptionHandler handler, int rank) {
+    }
+}
@@ -0,0 +1,28 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.support.CacheStatistics;
+
+import java.util.List;
+
+public class CachingHandlerDispatcherFactory implements HandlerDispatcherFactory {
+
+    private final HandlerDispatcherFactory delegateFactory;
+    private final int maximumSize;
+    // ! Statistics are shared by all dispatchers created by the factory, so they survive handler refreshes
+    private final CacheStatistics statistics = new CacheStatistics();
+
+    public CachingHandlerDispatcherFactory(HandlerDispatcherFactory delegateFactory, int maximumSize) {
+        this.delegateFactory = delegateFactory;
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public HandlerDispatcher create(List<SpringSecurityExceptionHandler> handlers) {
+        return new CachingHandlerDispatcher(handlers, delegateFactory, maximumSize, statistics);
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+}
@@ -0,0 +1,180 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlPatternPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public final class DispatchPlan {
+
+    private final List<SpringSecurityExceptionHandler> handlers;
+    private final List<Entry> entries;
+
+    private DispatchPlan(List<SpringSecurityExceptionHandler> handlers, List<Entry> entries) {
+        this.handlers = handlers;
+        this.entries = entries;
+    }
+
+    public static DispatchPlan compile(List<SpringSecurityExceptionHandler> handlers) {
+        List<SpringSecurityExceptionHandler> sortedHandlers = new ArrayList<>(handlers);
+        sortedHandlers.sort(Comparator.comparingInt(Ordered::getOrder));
+
+        List<Entry> entries = new ArrayList<>(sortedHandlers.size());
+        for (SpringSecurityExceptionHandler handler : sortedHandlers) {
+            entries.add(Entry.of(handler));
+        }
+        return new DispatchPlan(List.copyOf(sortedHandlers), List.copyOf(entries));
+    }
+
+    public List<SpringSecurityExceptionHandler> getHandlers() {
+        return handlers;
+    }
+
+    public List<Entry> getEntries() {
+        return entries;
+    }
+
+    public HandlerDispatcher createDispatcher(HandlerDispatcherFactory dispatcherFactory) {
+        return dispatcherFactory.create(handlers);
+    }
+
+    public List<Problem> validate() {
+        List<Problem> problems = new ArrayList<>();
+        for (int i = 0; i < entries.size(); i++) {
+            Entry entry = entries.get(i);
+            if (!entry.analyzable()) {
+                continue;
+            }
+            if (entry.patterns().isEmpty()) {
+                problems.add(new Problem(Severity.ERROR, entry.name(), "has no URL patterns and can never match"));
+                continue;
+            }
+
+            List<String> shadowedPatterns = new ArrayList<>();
+            for (String pattern : entry.patterns()) {
+                Entry shadowingEntry = findShadowingEntry(pattern, i);
+                if (shadowingEntry != null) {
+                    shadowedPatterns.add(pattern + " (by " + shadowingEntry.name() + ")");
+                }
+            }
+            if (shadowedPatterns.size() == entry.patterns().size()) {
+                problems.add(new Problem(Severity.ERROR, entry.name(),
+                        "is shadowed by handlers with lower order and can never match: " + shadowedPatterns));
+            } else if (!shadowedPatterns.isEmpty()) {
+                problems.add(new Problem(Severity.WARNING, entry.name(), "has shadowed URL patterns: " + shadowedPatterns));
+            }
+
+            for (int j = i + 1; j < entries.size() && entries.get(j).order() == entry.order(); j++) {
+                Entry other = entries.get(j);
+                if (entry.sharesTenants(other) && (!other.analyzable() || overlaps(entry, other))) {
+                    // ! Equal orders are resolved by registration order, which is not something to rely on
+                    problems.add(new Problem(Severity.WARNING, entry.name(),
+                            "has the same order " + entry.order() + " as " + other.name() + " and may match the same requests"));
+                }
+            }
+        }
+        return problems;
+    }
+
+    public String describe() {
+        StringBuilder description = new StringBuilder("Security exception dispatch plan with ")
+                .append(entries.size()).append(" handler(s)");
+        for (Entry entry : entries) {
+            description.append(System.lineSeparator())
+                       .append("  ").append(entry.order()).append(' ').append(entry.name()).append(' ');
+            if (!entry.analyzable()) {
+                description.append("[custom predicate]");
+            } else {
+                description.append(entry.patterns());
+                if (entry.conditional()) {
+                    description.append(" [request conditions]");
+                }
+                if (!entry.tenants().isEmpty()) {
+                    description.append(" [tenants ").append(entry.tenants()).append(']');
+                }
+            }
+        }
+        return description.toString();
+    }
+
+    private Entry findShadowingEntry(String pattern, int rank) {
+        for (int i = 0; i < rank; i++) {
+            Entry candidate = entries.get(i);
+            // ! Only unconditional URL handlers are known to claim every request matching their patterns
+            if (!candidate.analyzable() || candidate.conditional() || !candidate.coversTenants(entries.get(rank))) {
+                continue;
+            }
+            for (String candidatePattern : candidate.patterns()) {
+                if (UrlPatternRelation.covers(candidatePattern, pattern)) {
+                    return candidate;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static boolean overlaps(Entry first, Entry second) {
+        for (String firstPattern : first.patterns()) {
+            for (String secondPattern : second.patterns()) {
+                if (UrlPatternRelation.overlaps(firstPattern, secondPattern)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public enum Severity {
+        WARNING,
+        ERROR
+    }
+
+    public record Problem(Severity severity, String handlerName, String message) {
+
+        @Override
+        public String toString() {
+            return "Handler '" + handlerName + "' " + message;
+        }
+    }
+
+    // Empty tenants mean the handler applies to every tenant
+    public record Entry(String name, int order, List<String> patterns, boolean analyzable, boolean conditional,
+                        Set<String> tenants) {
+
+        private static Entry of(SpringSecurityExceptionHandler handler) {
+            Predicate<HttpServletRequest> predicate = handler.getCanHandlePredicate();
+            Set<String> tenants = Set.of();
+            if (predicate instanceof TenantMatchingPredicate tenantMatchingPredicate) {
+                predicate = tenantMatchingPredicate.getDelegate();
+                tenants = tenantMatchingPredicate.getTenants();
+            }
+            boolean conditional = false;
+            if (predicate instanceof RequestMatchingPredicate requestMatchingPredicate) {
+                predicate = requestMatchingPredicate.getUrlPredicate();
+                conditional = true;
+            }
+            if (predicate instanceof UrlPatternPredicate urlPatternPredicate) {
+                return new Entry(handler.getName(), handler.getOrder(), List.copyOf(urlPatternPredicate.getUrlPatterns()),
+                        true, conditional, tenants);
+            }
+            return new Entry(handler.getName(), handler.getOrder(), List.of(), false, conditional, tenants);
+        }
+
+        private boolean coversTenants(Entry other) {
+            return tenants.isEmpty() || (!other.tenants.isEmpty() && tenants.containsAll(other.tenants));
+        }
+
+        private boolean sharesTenants(Entry other) {
+            return tenants.isEmpty() || other.tenants.isEmpty() || !Collections.disjoint(tenants, other.tenants);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package dev.clutcher.security.dispatch;
+
+import java.util.List;
+
+/**
+ * Handlers, dispatcher factory and compiled dispatcher published together as one immutable value.
+ */
+public record DispatchSnapshot(DispatchPlan plan,
+                               HandlerDispatcherFactory dispatcherFactory,
+                               HandlerDispatcher dispatcher) {
+
+    public static DispatchSnapshot empty() {
+        return create(DispatchPlan.compile(List.of()), HandlerDispatcherFactory.linear());
+    }
+
+    public static DispatchSnapshot create(DispatchPlan plan, HandlerDispatcherFactory dispatcherFactory) {
+        return new DispatchSnapshot(plan, dispatcherFactory, plan.createDispatcher(dispatcherFactory));
+    }
+
+    public DispatchSnapshot withPlan(DispatchPlan plan) {
+        return create(plan, dispatcherFactory);
+    }
+
+    public DispatchSnapshot withDispatcherFactory(HandlerDispatcherFactory dispatcherFactory) {
+        return create(plan, dispatcherFactory);
+    }
+}
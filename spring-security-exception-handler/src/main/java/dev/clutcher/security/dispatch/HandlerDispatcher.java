@@ -0,0 +1,11 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import jakarta.servlet.http.HttpServletRequest;
+
+public interface HandlerDispatcher {
+
+    // Returns null when no handler can handle the request
+    SpringSecurityExceptionHandler resolve(HttpServletRequest request);
+
+}
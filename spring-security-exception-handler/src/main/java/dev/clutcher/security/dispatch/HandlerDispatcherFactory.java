@@ -0,0 +1,32 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+
+import java.util.List;
+
+@FunctionalInterface
+public interface HandlerDispatcherFactory {
+
+    HandlerDispatcher create(List<SpringSecurityExceptionHandler> handlers);
+
+    static HandlerDispatcherFactory linear() {
+        return LinearHandlerDispatcher::new;
+    }
+
+    static HandlerDispatcherFactory urlIndex() {
+        return UrlIndexHandlerDispatcher::new;
+    }
+
+    static CachingHandlerDispatcherFactory cached(HandlerDispatcherFactory delegateFactory, int maximumSize) {
+        return new CachingHandlerDispatcherFactory(delegateFactory, maximumSize);
+    }
+
+    static TenantRoutingHandlerDispatcherFactory hostRouting(HandlerDispatcherFactory delegateFactory) {
+        return new TenantRoutingHandlerDispatcherFactory(null, delegateFactory);
+    }
+
+    static TenantRoutingHandlerDispatcherFactory tenantRouting(String tenantHeader, HandlerDispatcherFactory delegateFactory) {
+        return new TenantRoutingHandlerDispatcherFactory(tenantHeader, delegateFactory);
+    }
+
+}
@@ -0,0 +1,51 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class LinearHandlerDispatcher implements HandlerDispatcher {
+
+    private static final String SEPARATOR = "/";
+    private static final String MATCH_ALL_PATTERN = "/**";
+
+    private final SpringSecurityExceptionHandler[] handlers;
+    private final boolean[] matchesAll;
+
+    public LinearHandlerDispatcher(List<SpringSecurityExceptionHandler> handlers) {
+        List<SpringSecurityExceptionHandler> sortedHandlers = new ArrayList<>(handlers);
+        sortedHandlers.sort(Comparator.comparingInt(Ordered::getOrder));
+
+        this.handlers = sortedHandlers.toArray(new SpringSecurityExceptionHandler[0]);
+        this.matchesAll = new boolean[this.handlers.length];
+        for (int i = 0; i < this.handlers.length; i++) {
+            this.matchesAll[i] = isMatchAll(this.handlers[i]);
+        }
+    }
+
+    @Override
+    public SpringSecurityExceptionHandler resolve(HttpServletRequest request) {
+        for (int i = 0; i < handlers.length; i++) {
+            if (matchesAll[i] ? isRooted(request) : handlers[i].canHandle(request)) {
+                return handlers[i];
+            }
+        }
+        return null;
+    }
+
+    private static boolean isRooted(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        return requestUri != null && requestUri.startsWith(SEPARATOR);
+    }
+
+    private static boolean isMatchAll(SpringSecurityExceptionHandler handler) {
+        // ! AntPathMatcher "/**" matches any URI starting with "/", so catch-all handlers skip pattern matching
+        return handler.getCanHandlePredicate() instanceof UrlMatchingPredicate urlMatchingPredicate
+                && urlMatchingPredicate.getUrlPatterns().contains(MATCH_ALL_PATTERN);
+    }
+}
@@ -0,0 +1,98 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Predicate;
+
+public class TenantRoutingHandlerDispatcher implements HandlerDispatcher {
+
+    private final String tenantHeader;
+    private final Map<String, HandlerDispatcher> tenantDispatchers = new HashMap<>();
+    private final HandlerDispatcher defaultDispatcher;
+
+    public TenantRoutingHandlerDispatcher(List<SpringSecurityExceptionHandler> handlers, String tenantHeader,
+                                          HandlerDispatcherFactory delegateFactory) {
+        this.tenantHeader = tenantHeader;
+
+        // ! Handlers without tenants of this routing dimension are shared by every group and form the default group
+        List<SpringSecurityExceptionHandler> sharedHandlers = new ArrayList<>();
+        Map<String, List<SpringSecurityExceptionHandler>> tenantHandlers = new HashMap<>();
+        for (SpringSecurityExceptionHandler handler : handlers) {
+            if (handler.getCanHandlePredicate() instanceof TenantMatchingPredicate tenantPredicate
+                    && Objects.equals(tenantHeader, tenantPredicate.getTenantHeader())) {
+                SpringSecurityExceptionHandler view = new TenantHandlerView(handler, tenantPredicate.getDelegate());
+                for (String tenant : tenantPredicate.getTenants()) {
+                    tenantHandlers.computeIfAbsent(tenant, key -> new ArrayList<>()).add(view);
+                }
+            } else {
+                sharedHandlers.add(handler);
+            }
+        }
+
+        tenantHandlers.forEach((tenant, group) -> {
+            group.addAll(sharedHandlers);
+            tenantDispatchers.put(tenant, delegateFactory.create(group));
+        });
+        this.defaultDispatcher = delegateFactory.create(sharedHandlers);
+    }
+
+    @Override
+    public SpringSecurityExceptionHandler resolve(HttpServletRequest request) {
+        String tenant = TenantMatchingPredicate.resolveTenant(request, tenantHeader);
+        HandlerDispatcher dispatcher = tenant == null ? null : tenantDispatchers.get(tenant);
+        SpringSecurityExceptionHandler handler = (dispatcher == null ? defaultDispatcher : dispatcher).resolve(request);
+        return handler instanceof TenantHandlerView view ? view.handler : handler;
+    }
+
+    // Tenant is already matched by the group lookup, so the delegate dispatcher only sees the remaining predicate
+    private static final class TenantHandlerView implements SpringSecurityExceptionHandler {
+
+        private final SpringSecurityExceptionHandler handler;
+        private final Predicate<HttpServletRequest> predicate;
+
+        private TenantHandlerView(SpringSecurityExceptionHandler handler, Predicate<HttpServletRequest> predicate) {
+            this.handler = handler;
+            this.predicate = predicate;
+        }
+
+        @Override
+        public boolean canHandle(HttpServletRequest request) {
+            return predicate.test(request);
+        }
+
+        @Override
+        public Predicate<HttpServletRequest> getCanHandlePredicate() {
+            return predicate;
+        }
+
+        @Override
+        public void handle(RuntimeException exception, HttpServletResponse response) throws IOException {
+            handler.handle(exception, response);
+        }
+
+        @Override
+        public void handle(RuntimeException exception, HttpServletRequest request, HttpServletResponse response)
+                throws IOException {
+            handler.handle(exception, request, response);
+        }
+
+        @Override
+        public int getOrder() {
+            return handler.getOrder();
+        }
+
+        @Override
+        public String getName() {
+            return handler.getName();
+        }
+    }
+}
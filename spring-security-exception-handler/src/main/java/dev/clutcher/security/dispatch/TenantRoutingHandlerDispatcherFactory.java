@@ -0,0 +1,30 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+
+import java.util.List;
+
+public class TenantRoutingHandlerDispatcherFactory implements HandlerDispatcherFactory {
+
+    private final String tenantHeader;
+    private final HandlerDispatcherFactory delegateFactory;
+
+    public TenantRoutingHandlerDispatcherFactory(String tenantHeader, HandlerDispatcherFactory delegateFactory) {
+        this.tenantHeader = tenantHeader;
+        this.delegateFactory = delegateFactory;
+    }
+
+    @Override
+    public HandlerDispatcher create(List<SpringSecurityExceptionHandler> handlers) {
+        return new TenantRoutingHandlerDispatcher(handlers, tenantHeader, delegateFactory);
+    }
+
+    // Null means handlers are routed by host
+    public String getTenantHeader() {
+        return tenantHeader;
+    }
+
+    public HandlerDispatcherFactory getDelegateFactory() {
+        return delegateFactory;
+    }
+}
@@ -0,0 +1,183 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.core.Ordered;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.util.StringUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Predicate;
+
+public class UrlIndexHandlerDispatcher implements HandlerDispatcher {
+
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+    private static final String SEPARATOR = "/";
+    private static final String ANY_PATH = "**";
+    private static final int NO_MATCH = Integer.MAX_VALUE;
+
+    private final SpringSecurityExceptionHandler[] handlers;
+    private final int[] unindexedRanks;
+    private final Node root = new Node();
+
+    public UrlIndexHandlerDispatcher(List<SpringSecurityExceptionHandler> handlers) {
+        List<SpringSecurityExceptionHandler> sortedHandlers = new ArrayList<>(handlers);
+        sortedHandlers.sort(Comparator.comparingInt(Ordered::getOrder));
+        this.handlers = sortedHandlers.toArray(new SpringSecurityExceptionHandler[0]);
+
+        List<Integer> unindexed = new ArrayList<>();
+        for (int rank = 0; rank < this.handlers.length; rank++) {
+            Predicate<HttpServletRequest> predicate = this.handlers[rank].getCanHandlePredicate();
+            if (predicate instanceof UrlMatchingPredicate urlMatchingPredicate) {
+                for (String pattern : urlMatchingPredicate.getUrlPatterns()) {
+                    index(pattern, rank, null);
+                }
+            } else if (predicate instanceof RequestMatchingPredicate requestMatchingPredicate
+                    && requestMatchingPredicate.getUrlPredicate() instanceof UrlMatchingPredicate urlMatchingPredicate) {
+                // ! Path patterns narrow down candidates, method and header conditions are confirmed on the matched entry
+                for (String pattern : urlMatchingPredicate.getUrlPatterns()) {
+                    index(pattern, rank, requestMatchingPredicate);
+                }
+            } else {
+                // ! Handlers with custom predicates can't be indexed and are evaluated in order on every lookup
+                unindexed.add(rank);
+            }
+        }
+        this.unindexedRanks = unindexed.stream().mapToInt(Integer::intValue).toArray();
+        root.freeze();
+    }
+
+    @Override
+    public SpringSecurityExceptionHandler resolve(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        int best = requestUri == null ? NO_MATCH : lookup(request, requestUri);
+
+        for (int rank : unindexedRanks) {
+            if (rank >= best) {
+                break;
+            }
+            if (handlers[rank].canHandle(request)) {
+                return handlers[rank];
+            }
+        }
+        return best == NO_MATCH ? null : handlers[best];
+    }
+
+    private int lookup(HttpServletRequest request, String requestUri) {
+        boolean rooted = requestUri.startsWith(SEPARATOR);
+        boolean trailingSeparator = requestUri.endsWith(SEPARATOR);
+
+        Node node = root;
+        int best = node.matchPartial(request, requestUri, rooted, NO_MATCH);
+
+        int length = requestUri.length();
+        int start = 0;
+        while (true) {
+            while (start < length && requestUri.charAt(start) == '/') {
+                start++;
+            }
+            if (start >= length) {
+                return node.matchTerminal(request, rooted, trailingSeparator, best);
+            }
+
+            int end = requestUri.indexOf('/', start);
+            if (end < 0) {
+                end = length;
+            }
+            node = node.children.get(requestUri.substring(start, end));
+            if (node == null) {
+                return best;
+            }
+            best = node.matchPartial(request, requestUri, rooted, best);
+            start = end;
+        }
+    }
+
+    private void index(String pattern, int rank, RequestMatchingPredicate condition) {
+        String[] tokens = tokenize(pattern);
+        boolean rooted = pattern.startsWith(SEPARATOR);
+
+        Node node = root;
+        for (int i = 0; i < tokens.length; i++) {
+            String token = tokens[i];
+            if (PATH_MATCHER.isPattern(token)) {
+                boolean prefix = i == tokens.length - 1 && ANY_PATH.equals(token) && !pattern.endsWith(SEPARATOR);
+                node.partialEntries.add(new Entry(rank, pattern, rooted, false, prefix ? Kind.PREFIX : Kind.WILDCARD, condition));
+                return;
+            }
+            node = node.children.computeIfAbsent(token, key -> new Node());
+        }
+        node.terminalEntries.add(new Entry(rank, pattern, rooted, pattern.endsWith(SEPARATOR), Kind.EXACT, condition));
+    }
+
+    private static String[] tokenize(String path) {
+        return StringUtils.tokenizeToStringArray(path, SEPARATOR, false, true);
+    }
+
+    private enum Kind {
+        // Literal tokens only, matched purely by the trie walk
+        EXACT,
+        // Literal tokens followed by a trailing "/**", matches the node and everything below it
+        PREFIX,
+        // Anything else, literal prefix is used to narrow down candidates and the rest is confirmed with AntPathMatcher
+        WILDCARD
+    }
+
+    private record Entry(int rank, String pattern, boolean rooted, boolean trailingSeparator, Kind kind,
+                         RequestMatchingPredicate condition) {
+
+        private boolean matchesCondition(HttpServletRequest request) {
+            return condition == null || condition.testIgnoringPath(request);
+        }
+    }
+
+    private static class Node {
+
+        private final Map<String, Node> children = new HashMap<>();
+        private final List<Entry> partialEntries = new ArrayList<>();
+        private final List<Entry> terminalEntries = new ArrayList<>();
+
+        private int matchPartial(HttpServletRequest request, String requestUri, boolean rooted, int best) {
+            for (int i = 0; i < partialEntries.size(); i++) {
+                Entry entry = partialEntries.get(i);
+                if (entry.rank() >= best) {
+                    return best;
+                }
+                boolean matches = entry.kind() == Kind.PREFIX
+                        ? entry.rooted() == rooted
+                        : PATH_MATCHER.match(entry.pattern(), requestUri);
+                if (matches && entry.matchesCondition(request)) {
+                    return entry.rank();
+                }
+            }
+            return best;
+        }
+
+        private int matchTerminal(HttpServletRequest request, boolean rooted, boolean trailingSeparator, int best) {
+            for (int i = 0; i < terminalEntries.size(); i++) {
+                Entry entry = terminalEntries.get(i);
+                if (entry.rank() >= best) {
+                    return best;
+                }
+                if (entry.rooted() == rooted && entry.trailingSeparator() == trailingSeparator
+                        && entry.matchesCondition(request)) {
+                    return entry.rank();
+                }
+            }
+            return best;
+        }
+
+        private void freeze() {
+            partialEntries.sort(Comparator.comparingInt(Entry::rank));
+            terminalEntries.sort(Comparator.comparingInt(Entry::rank));
+            children.values().forEach(Node::freeze);
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package dev.clutcher.security.dispatch;
+
+import org.springframework.util.StringUtils;
+
+/**
+ * Compares URL patterns segment by segment, without treating one pattern as a path matched by the other.
+ * Understands {@code **}, {@code *}, {@code ?}, {@code {name}} and {@code {*name}}. Segments with a regular expression
+ * variable are only covered by {@code *}, {@code **} or an identical segment.
+ */
+final class UrlPatternRelation {
+
+    private static final String ANY_SEGMENTS = "**";
+    private static final String REGEX_SEGMENT = "{:}";
+
+    private UrlPatternRelation() {
+    }
+
+    // True only when every path matched by specific is certainly matched by general
+    static boolean covers(String general, String specific) {
+        return general.equals(specific) || covers(segments(general), 0, segments(specific), 0);
+    }
+
+    // True when some path may be matched by both patterns
+    static boolean overlaps(String first, String second) {
+        return first.equals(second) || overlaps(segments(first), 0, segments(second), 0);
+    }
+
+    private static boolean covers(String[] general, int g, String[] specific, int s) {
+        if (g == general.length) {
+            return s == specific.length;
+        }
+        if (general[g].equals(ANY_SEGMENTS)) {
+            return covers(general, g + 1, specific, s) || (s < specific.length && covers(general, g, specific, s + 1));
+        }
+        if (s == specific.length || specific[s].equals(ANY_SEGMENTS)) {
+            return false;
+        }
+        return segmentCovers(general[g], specific[s]) && covers(general, g + 1, specific, s + 1);
+    }
+
+    private static boolean overlaps(String[] first, int f, String[] second, int s) {
+        if (f < first.length && first[f].equals(ANY_SEGMENTS)) {
+            return overlaps(first, f + 1, second, s) || (s < second.length && overlaps(first, f, second, s + 1));
+        }
+        if (s < second.length && second[s].equals(ANY_SEGMENTS)) {
+            return overlaps(first, f, second, s + 1) || (f < first.length && overlaps(first, f + 1, second, s));
+        }
+        if (f == first.length || s == second.length) {
+            return f == first.length && s == second.length;
+        }
+        return segmentsOverlap(first[f], second[s]) && overlaps(first, f + 1, second, s + 1);
+    }
+
+    private static boolean segmentCovers(String general, String specific) {
+        if (general.equals(specific) || general.equals("*")) {
+            return true;
+        }
+        if (general.equals(REGEX_SEGMENT) || specific.equals(REGEX_SEGMENT)) {
+            return false;
+        }
+        return globCovers(general, 0, specific, 0);
+    }
+
+    // ! Wildcards of the specific segment are only covered by wildcards that match at least as much
+    private static boolean globCovers(String general, int g, String specific, int s) {
+        if (g == general.length()) {
+            return s == specific.length();
+        }
+        char generalChar = general.charAt(g);
+        if (generalChar == '*') {
+            return globCovers(general, g + 1, specific, s) || (s < specific.length() && globCovers(general, g, specific, s + 1));
+        }
+        if (s == specific.length()) {
+            return false;
+        }
+        char specificChar = specific.charAt(s);
+        boolean covered = generalChar == '?' ? specificChar != '*' : generalChar == specificChar && specificChar != '*' && specificChar != '?';
+        return covered && globCovers(general, g + 1, specific, s + 1);
+    }
+
+    private static boolean segmentsOverlap(String first, String second) {
+        if (first.equals(REGEX_SEGMENT) || second.equals(REGEX_SEGMENT)) {
+            return true;
+        }
+        return globsOverlap(first, 0, second, 0);
+    }
+
+    private static boolean globsOverlap(String first, int f, String second, int s) {
+        if (f < first.length() && first.charAt(f) == '*') {
+            return globsOverlap(first, f + 1, second, s) || (s < second.length() && globsOverlap(first, f, second, s + 1));
+        }
+        if (s < second.length() && second.charAt(s) == '*') {
+            return globsOverlap(first, f, second, s + 1) || (f < first.length() && globsOverlap(first, f + 1, second, s));
+        }
+        if (f == first.length() || s == second.length()) {
+            return f == first.length() && s == second.length();
+        }
+        char firstChar = first.charAt(f);
+        char secondChar = second.charAt(s);
+        return (firstChar == '?' || secondChar == '?' || firstChar == secondChar) && globsOverlap(first, f + 1, second, s + 1);
+    }
+
+    private static String[] segments(String pattern) {
+        String[] segments = StringUtils.tokenizeToStringArray(pattern, "/");
+        for (int i = 0; i < segments.length; i++) {
+            segments[i] = normalize(segments[i]);
+        }
+        return segments;
+    }
+
+    // ! Variables become wildcards, so "/api/{id}" and "/api/*" are compared as the same pattern
+    private static String normalize(String segment) {
+        if (segment.startsWith("{*") && segment.endsWith("}")) {
+            return ANY_SEGMENTS;
+        }
+        StringBuilder normalized = new StringBuilder(segment.length());
+        int i = 0;
+        while (i < segment.length()) {
+            char c = segment.charAt(i);
+            if (c != '{') {
+                normalized.append(c);
+                i++;
+                continue;
+            }
+            int end = segment.indexOf('}', i);
+            if (end < 0 || segment.substring(i, end).indexOf(':') >= 0) {
+                return REGEX_SEGMENT;
+            }
+            normalized.append('*');
+            i = end + 1;
+        }
+        return normalized.toString();
+    }
+}
@@ -0,0 +1,100 @@
+package dev.clutcher.security.entrypoint;
+
+import dev.clutcher.security.dispatch.DispatchPlan;
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
+import dev.clutcher.security.filter.SpringSecurityExceptionFilterListener;
+import dev.clutcher.security.filter.SpringSecurityExceptionResponder;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.web.AuthenticationEntryPoint;
+import org.springframework.security.web.access.AccessDeniedHandler;
+import org.springframework.security.web.access.AccessDeniedHandlerImpl;
+import org.springframework.security.web.authentication.Http403ForbiddenEntryPoint;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Exposes the ordered handler set as {@link AuthenticationEntryPoint} and {@link AccessDeniedHandler}, so handlers
+ * are only invoked by {@code ExceptionTranslationFilter} on the failure path.
+ * Requests no handler matches are passed to the fallbacks, which the starter sets to the entry point and access denied
+ * handler {@code exceptionHandling()} would have used otherwise.
+ */
+public class SpringSecurityExceptionEntryPoint implements AuthenticationEntryPoint, AccessDeniedHandler {
+
+    private final SpringSecurityExceptionResponder responder;
+    private volatile AuthenticationEntryPoint fallbackEntryPoint = new Http403ForbiddenEntryPoint();
+    private volatile AccessDeniedHandler fallbackAccessDeniedHandler = new AccessDeniedHandlerImpl();
+
+    public SpringSecurityExceptionEntryPoint(List<SpringSecurityExceptionHandler> handlers) {
+        this(new SpringSecurityExceptionResponder());
+        setHandlers(handlers);
+    }
+
+    public SpringSecurityExceptionEntryPoint() {
+        // ! Default constructor is used by [[SpringSecurityExceptionFilterConfigurer]] before handlers are autowired
+        this(new SpringSecurityExceptionResponder());
+    }
+
+    public SpringSecurityExceptionEntryPoint(SpringSecurityExceptionResponder responder) {
+        this.responder = responder;
+    }
+
+    public SpringSecurityExceptionResponder getResponder() {
+        return responder;
+    }
+
+    @Autowired(required = false)
+    public void setHandlers(List<SpringSecurityExceptionHandler> handlers) {
+        responder.setHandlers(handlers);
+    }
+
+    @Autowired(required = false)
+    public void setCustomizers(List<SpringSecurityExceptionEntryPointCustomizer> customizers) {
+        customizers.forEach(customizer -> customizer.customize(this));
+    }
+
+    @Autowired(required = false)
+    public void setListeners(List<SpringSecurityExceptionFilterListener> listeners) {
+        responder.setListeners(listeners);
+    }
+
+    public void setDispatcherFactory(HandlerDispatcherFactory dispatcherFactory) {
+        responder.setDispatcherFactory(dispatcherFactory);
+    }
+
+    public DispatchPlan getDispatchPlan() {
+        return responder.getDispatchPlan();
+    }
+
+    public void setFallbackEntryPoint(AuthenticationEntryPoint fallbackEntryPoint) {
+        this.fallbackEntryPoint = fallbackEntryPoint;
+    }
+
+    public void setFallbackAccessDeniedHandler(AccessDeniedHandler fallbackAccessDeniedHandler) {
+        this.fallbackAccessDeniedHandler = fallbackAccessDeniedHandler;
+    }
+
+    @Override
+    public void commence(HttpServletRequest request, HttpServletResponse response, AuthenticationException authException)
+            throws IOException, ServletException {
+        if (!responder.tryHandle(authException, request, response)) {
+            responder.notifyUnhandled(authException, request);
+            fallbackEntryPoint.commence(request, response, authException);
+        }
+    }
+
+    @Override
+    public void handle(HttpServletRequest request, HttpServletResponse response, AccessDeniedException accessDeniedException)
+            throws IOException, ServletException {
+        if (!responder.tryHandle(accessDeniedException, request, response)) {
+            responder.notifyUnhandled(accessDeniedException, request);
+            fallbackAccessDeniedHandler.handle(request, response, accessDeniedException);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package dev.clutcher.security.entrypoint;
+
+@FunctionalInterface
+public interface SpringSecurityExceptionEntryPointCustomizer {
+
+    void customize(SpringSecurityExceptionEntryPoint entryPoint);
+
+}
@@ -1,9 +1,14 @@
 package dev.clutcher.security.filter;
 
+import dev.clutcher.security.dispatch.DispatchPlan;
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
 import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import jakarta.servlet.DispatcherType;
 import jakarta.servlet.FilterChain;
+import jakarta.servlet.RequestDispatcher;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
 import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.access.AccessDeniedException;
@@ -11,44 +16,163 @@ import org.springframework.security.core.AuthenticationException;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
-import java.util.ArrayList;
-import java.util.Collections;
+import java.util.Collection;
 import java.util.List;
 
 public class SpringSecurityExceptionFilter extends OncePerRequestFilter {
 
-    private List<SpringSecurityExceptionHandler> handlers;
+    private final SpringSecurityExceptionResponder responder;
+    private volatile boolean asyncDispatchEnabled;
+    private volatile boolean errorDispatchEnabled;
 
     public SpringSecurityExceptionFilter(List<SpringSecurityExceptionHandler> handlers) {
         // Used to manually create Spring Bean in Configuration
-        this.handlers = new ArrayList<>(handlers);
+        this(new SpringSecurityExceptionResponder());
+        setHandlers(handlers);
     }
 
     public SpringSecurityExceptionFilter() {
         // ! Default constructor is used by [[SecurityConfigurer]] to create new instances
-        this.handlers = new ArrayList<>();
+        this(new SpringSecurityExceptionResponder());
+    }
+
+    public SpringSecurityExceptionFilter(SpringSecurityExceptionResponder responder) {
+        // ! Shared responder keeps filter and entry point of one chain on the same handlers and exception types
+        this.responder = responder;
+    }
+
+    public SpringSecurityExceptionResponder getResponder() {
+        return responder;
     }
 
     @Autowired(required = false)
     public void setHandlers(List<SpringSecurityExceptionHandler> handlers) {
         // ! @Autowired setter is used by [[SecurityConfigurerAdapter#postProcess]] to inject beans after creating
         // ! instance with the default constructor.
-        this.handlers = new ArrayList<>(handlers);
+        responder.setHandlers(handlers);
+    }
+
+    @Autowired(required = false)
+    public void setCustomizers(List<SpringSecurityExceptionFilterCustomizer> customizers) {
+        customizers.forEach(customizer -> customizer.customize(this));
+    }
+
+    @Autowired(required = false)
+    public void setListeners(List<SpringSecurityExceptionFilterListener> listeners) {
+        responder.setListeners(listeners);
+    }
+
+    public void setDispatcherFactory(HandlerDispatcherFactory dispatcherFactory) {
+        responder.setDispatcherFactory(dispatcherFactory);
+    }
+
+    public DispatchPlan getDispatchPlan() {
+        return responder.getDispatchPlan();
+    }
+
+    public void setAsyncDispatchEnabled(boolean asyncDispatchEnabled) {
+        // ! Exceptions raised on ASYNC dispatch (DeferredResult, Callable, ...) are handled directly instead of
+        // ! escaping to the container error page
+        this.asyncDispatchEnabled = asyncDispatchEnabled;
+    }
+
+    public boolean isAsyncDispatchEnabled() {
+        return asyncDispatchEnabled;
+    }
+
+    public void setErrorDispatchEnabled(boolean errorDispatchEnabled) {
+        // ! Security exceptions forwarded to the container error page are answered by the handler,
+        // ! skipping the error controller
+        this.errorDispatchEnabled = errorDispatchEnabled;
+    }
+
+    public boolean isErrorDispatchEnabled() {
+        return errorDispatchEnabled;
+    }
+
+    public void setAdditionalExceptionTypes(Collection<Class<? extends RuntimeException>> exceptionTypes) {
+        responder.setAdditionalExceptionTypes(exceptionTypes);
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return !asyncDispatchEnabled;
+    }
+
+    @Override
+    protected boolean shouldNotFilterErrorDispatch() {
+        return !errorDispatchEnabled;
+    }
+
+    @Override
+    protected void doFilterNestedErrorDispatch(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        if (errorDispatchEnabled && handleDispatchedError(request, response)) {
+            return;
+        }
+        super.doFilterNestedErrorDispatch(request, response, filterChain);
     }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
+        if (request.getDispatcherType() == DispatcherType.ERROR && handleDispatchedError(request, response)) {
+            return;
+        }
+
         try {
             filterChain.doFilter(request, response);
         } catch (AuthenticationException | AccessDeniedException ex) {
-            for (SpringSecurityExceptionHandler handler : handlers) {
-                if (handler.canHandle(request)) {
-                    handler.handle(ex, response);
-                    return;
-                }
-            }
-            throw ex;
+            handleOrRethrow(ex, request, response);
+        } catch (RuntimeException ex) {
+            // ! Catch types are static in Java, so configured types can only be told apart after the fact
+            rethrowOrHandle(ex, request, response);
+        }
+    }
+
+    // Everything but the configured additional exception types is rethrown untouched
+    private void rethrowOrHandle(RuntimeException exception, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (!responder.getAdditionalExceptionTypes().contains(exception)) {
+            throw exception;
+        }
+        handleOrRethrow(exception, request, response);
+    }
+
+    private void handleOrRethrow(RuntimeException exception, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (responder.tryHandle(exception, request, response)) {
+            return;
+        }
+        responder.notifyUnhandled(exception, request);
+        throw exception;
+    }
+
+    private boolean handleDispatchedError(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        RuntimeException exception = responder.findHandledException(request.getAttribute(RequestDispatcher.ERROR_EXCEPTION));
+        if (exception == null) {
+            return false;
+        }
+        // ! Handlers are resolved for the request that failed, not for the error page it was forwarded to
+        Object failedRequestUri = request.getAttribute(RequestDispatcher.ERROR_REQUEST_URI);
+        HttpServletRequest failedRequest = failedRequestUri instanceof String requestUri
+                ? new FailedRequest(request, requestUri)
+                : request;
+        return responder.tryHandle(exception, failedRequest, response);
+    }
+
+    private static final class FailedRequest extends HttpServletRequestWrapper {
+
+        private final String requestUri;
+
+        private FailedRequest(HttpServletRequest request, String requestUri) {
+            super(request);
+            this.requestUri = requestUri;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,8 @@
+package dev.clutcher.security.filter;
+
+@FunctionalInterface
+public interface SpringSecurityExceptionFilterCustomizer {
+
+    void customize(SpringSecurityExceptionFilter filter);
+
+}
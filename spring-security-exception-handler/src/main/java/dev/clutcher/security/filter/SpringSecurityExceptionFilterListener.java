@@ -0,0 +1,17 @@
+package dev.clutcher.security.filter;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+public interface SpringSecurityExceptionFilterListener {
+
+    default void onHandled(SpringSecurityExceptionHandler handler, RuntimeException exception,
+                           HttpServletRequest request, HttpServletResponse response, long durationNanos) {
+    }
+
+    // Called before exception is rethrown, when no handler can handle the request
+    default void onUnhandled(RuntimeException exception, HttpServletRequest request) {
+    }
+
+}
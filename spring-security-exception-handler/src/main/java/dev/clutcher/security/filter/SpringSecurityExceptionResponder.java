@@ -0,0 +1,103 @@
+package dev.clutcher.security.filter;
+
+import dev.clutcher.security.dispatch.DispatchPlan;
+import dev.clutcher.security.dispatch.DispatchSnapshot;
+import dev.clutcher.security.dispatch.HandlerDispatcherFactory;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.support.ExceptionTypeSet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Resolves the handler for a failed request, writes its response and notifies listeners.
+ * Shared by {@link SpringSecurityExceptionFilter} and the entry point, so both integration modes use the same
+ * handler snapshot, listeners and exception types.
+ */
+public class SpringSecurityExceptionResponder {
+
+    // ! Handlers, dispatcher factory and compiled dispatcher are published together as one immutable snapshot,
+    // ! so concurrent requests never observe a half-built handler set
+    private final AtomicReference<DispatchSnapshot> state = new AtomicReference<>(DispatchSnapshot.empty());
+    private volatile SpringSecurityExceptionFilterListener[] listeners = new SpringSecurityExceptionFilterListener[0];
+    private volatile ExceptionTypeSet additionalExceptionTypes = ExceptionTypeSet.of();
+
+    public void setHandlers(List<SpringSecurityExceptionHandler> handlers) {
+        DispatchPlan plan = DispatchPlan.compile(handlers);
+        state.updateAndGet(current -> current.withPlan(plan));
+    }
+
+    public void setListeners(List<SpringSecurityExceptionFilterListener> listeners) {
+        this.listeners = listeners.toArray(new SpringSecurityExceptionFilterListener[0]);
+    }
+
+    public void setDispatcherFactory(HandlerDispatcherFactory dispatcherFactory) {
+        state.updateAndGet(current -> current.withDispatcherFactory(dispatcherFactory));
+    }
+
+    public DispatchPlan getDispatchPlan() {
+        return state.get().plan();
+    }
+
+    public void setAdditionalExceptionTypes(Collection<Class<? extends RuntimeException>> exceptionTypes) {
+        // ! Handled on top of AuthenticationException and AccessDeniedException, everything else is rethrown untouched
+        this.additionalExceptionTypes = ExceptionTypeSet.of(exceptionTypes);
+    }
+
+    public ExceptionTypeSet getAdditionalExceptionTypes() {
+        return additionalExceptionTypes;
+    }
+
+    // Walks the cause chain of an error attribute and returns the first exception handlers are responsible for
+    public RuntimeException findHandledException(Object error) {
+        Throwable current = error instanceof Throwable throwable ? throwable : null;
+        while (current != null) {
+            if (current instanceof AuthenticationException || current instanceof AccessDeniedException
+                    || additionalExceptionTypes.contains(current)) {
+                return (RuntimeException) current;
+            }
+            Throwable cause = current.getCause();
+            current = cause != current ? cause : null;
+        }
+        return null;
+    }
+
+    // False when no handler matches or the response is already committed, the caller decides what happens next
+    public boolean tryHandle(RuntimeException exception, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // ! A committed response (e.g. streaming async result) can't be rewritten, so the exception is left to the caller
+        if (response.isCommitted()) {
+            return false;
+        }
+        SpringSecurityExceptionHandler handler = state.get().dispatcher().resolve(request);
+        if (handler == null) {
+            return false;
+        }
+
+        SpringSecurityExceptionFilterListener[] currentListeners = listeners;
+        if (currentListeners.length == 0) {
+            handler.handle(exception, request, response);
+            return true;
+        }
+
+        long start = System.nanoTime();
+        handler.handle(exception, request, response);
+        long durationNanos = System.nanoTime() - start;
+        for (SpringSecurityExceptionFilterListener listener : currentListeners) {
+            listener.onHandled(handler, exception, request, response, durationNanos);
+        }
+        return true;
+    }
+
+    public void notifyUnhandled(RuntimeException exception, HttpServletRequest request) {
+        for (SpringSecurityExceptionFilterListener listener : listeners) {
+            listener.onUnhandled(exception, request);
+        }
+    }
+}
@@ -5,6 +5,7 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.Ordered;
 
 import java.io.IOException;
+import java.util.function.Predicate;
 
 public interface SpringSecurityExceptionHandler extends Ordered {
 
@@ -12,4 +13,19 @@ public interface SpringSecurityExceptionHandler extends Ordered {
 
     void handle(RuntimeException exception, HttpServletResponse response) throws IOException;
 
+    default void handle(RuntimeException exception, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        // ! Request aware variant is what the filter calls, so handlers can render request-specific fields
+        handle(exception, response);
+    }
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+    default Predicate<HttpServletRequest> getCanHandlePredicate() {
+        // ! Exposed so dispatchers can precompile well known predicates (e.g. UrlMatchingPredicate)
+        return this::canHandle;
+    }
+
 }
@@ -1,17 +1,23 @@
 package dev.clutcher.security.handler;
 
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.RequestAwareExceptionConsumer;
+import dev.clutcher.security.handler.functions.ResponseHeaders;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
-import java.io.IOException;
+import java.time.Duration;
 import java.util.function.BiConsumer;
 import java.util.function.Predicate;
 
 public class SpringSecurityExceptionHandlerBuilder {
 
     private Predicate<HttpServletRequest> canHandlePredicate;
-    private BiConsumer<RuntimeException, HttpServletResponse> handleFunction;
+    private RequestAwareExceptionConsumer handleFunction;
     private int order = 0;
+    private String name = "custom";
+    private Duration asyncWriteTimeout;
+    private final ResponseHeaders.Builder headers = ResponseHeaders.builder();
 
     private SpringSecurityExceptionHandlerBuilder() {
     }
@@ -26,6 +32,14 @@ public class SpringSecurityExceptionHandlerBuilder {
     }
 
     public SpringSecurityExceptionHandlerBuilder handle(BiConsumer<RuntimeException, HttpServletResponse> handleFunction) {
+        if (handleFunction instanceof RequestAwareExceptionConsumer requestAwareFunction) {
+            return handle(requestAwareFunction);
+        }
+        this.handleFunction = (exception, request, response) -> handleFunction.accept(exception, response);
+        return this;
+    }
+
+    public SpringSecurityExceptionHandlerBuilder handle(RequestAwareExceptionConsumer handleFunction) {
         this.handleFunction = handleFunction;
         return this;
     }
@@ -35,22 +49,72 @@ public class SpringSecurityExceptionHandlerBuilder {
         return this;
     }
 
+    public SpringSecurityExceptionHandlerBuilder name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public SpringSecurityExceptionHandlerBuilder asyncWrite(Duration timeout) {
+        this.asyncWriteTimeout = timeout;
+        return this;
+    }
+
+    // Static header added to every error response of the handler, validated right away
+    public SpringSecurityExceptionHandlerBuilder header(String name, String value) {
+        this.headers.header(name, value);
+        return this;
+    }
+
+    public SpringSecurityExceptionHandlerBuilder headers(ResponseHeaders headers) {
+        this.headers.headers(headers);
+        return this;
+    }
+
     public SpringSecurityExceptionHandler build() {
+        RequestAwareExceptionConsumer handleFunction = resolveHandleFunction();
         return new SpringSecurityExceptionHandler() {
             @Override
             public boolean canHandle(HttpServletRequest request) {
                 return canHandlePredicate.test(request);
             }
 
+            @Override
+            public Predicate<HttpServletRequest> getCanHandlePredicate() {
+                return canHandlePredicate;
+            }
+
             @Override
             public void handle(RuntimeException exception, HttpServletResponse response) {
                 handleFunction.accept(exception, response);
             }
 
+            @Override
+            public void handle(RuntimeException exception, HttpServletRequest request, HttpServletResponse response) {
+                handleFunction.accept(exception, request, response);
+            }
+
             @Override
             public int getOrder() {
                 return order;
             }
+
+            @Override
+            public String getName() {
+                return name;
+            }
         };
     }
+
+    private RequestAwareExceptionConsumer resolveHandleFunction() {
+        if (asyncWriteTimeout == null && headers.isEmpty()) {
+            return handleFunction;
+        }
+        if (!(handleFunction instanceof ErrorResponseWritingConsumer writingConsumer)) {
+            throw new IllegalStateException("Async write and static headers require an ErrorResponseWritingConsumer handle function");
+        }
+        if (!headers.isEmpty()) {
+            writingConsumer = writingConsumer.withHeaders(headers.build());
+        }
+        return asyncWriteTimeout != null ? writingConsumer.withAsyncWrite(asyncWriteTimeout) : writingConsumer;
+    }
 }
@@ -0,0 +1,96 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Writes an already encoded body through a {@link WriteListener}, so slow clients don't hold the request thread.
+ */
+final class AsyncBodyWriter implements WriteListener, AsyncListener {
+
+    private final byte[] body;
+    private final ServletOutputStream outputStream;
+    private final AsyncContext asyncContext;
+    private final AtomicBoolean completed = new AtomicBoolean();
+    private boolean written;
+
+    private AsyncBodyWriter(byte[] body, ServletOutputStream outputStream, AsyncContext asyncContext) {
+        this.body = body;
+        this.outputStream = outputStream;
+        this.asyncContext = asyncContext;
+    }
+
+    static boolean canStart(HttpServletRequest request) {
+        return request != null && request.isAsyncSupported() && !request.isAsyncStarted();
+    }
+
+    static boolean start(byte[] body, HttpServletRequest request, HttpServletResponse response, Duration timeout)
+            throws IOException {
+        ServletOutputStream outputStream;
+        try {
+            outputStream = response.getOutputStream();
+        } catch (IllegalStateException e) {
+            // ! Writer was already obtained by downstream code, blocking write path handles that
+            return false;
+        }
+
+        AsyncContext asyncContext = request.startAsync(request, response);
+        asyncContext.setTimeout(timeout.toMillis());
+        AsyncBodyWriter writer = new AsyncBodyWriter(body, outputStream, asyncContext);
+        asyncContext.addListener(writer);
+        outputStream.setWriteListener(writer);
+        return true;
+    }
+
+    @Override
+    public void onWritePossible() throws IOException {
+        // ! Container serializes callbacks; body is handed over once, completion waits until it was drained
+        while (outputStream.isReady()) {
+            if (written) {
+                complete();
+                return;
+            }
+            outputStream.write(body);
+            written = true;
+        }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+        complete();
+    }
+
+    @Override
+    public void onTimeout(AsyncEvent event) {
+        complete();
+    }
+
+    @Override
+    public void onError(AsyncEvent event) {
+        complete();
+    }
+
+    @Override
+    public void onComplete(AsyncEvent event) {
+        completed.set(true);
+    }
+
+    @Override
+    public void onStartAsync(AsyncEvent event) {
+    }
+
+    private void complete() {
+        if (completed.compareAndSet(false, true)) {
+            asyncContext.complete();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package dev.clutcher.security.handler.functions;
+
+import dev.clutcher.security.support.BoundedCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class ContentNegotiatingExceptionMapping
+        implements BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final MediaType[] mediaTypes;
+    private final Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse>[] encoders;
+
+    // ! Selected encoder index per raw Accept value, bounded so arbitrary headers can't grow the heap
+    private final BoundedCache<String, Integer> selections;
+
+    @SuppressWarnings("unchecked")
+    private ContentNegotiatingExceptionMapping(Builder builder) {
+        this.mediaTypes = builder.mediaTypes.toArray(new MediaType[0]);
+        this.encoders = builder.encoders.toArray(new Function[0]);
+        this.selections = new BoundedCache<>(builder.cacheSize);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ErrorResponseWritingConsumer.ErrorResponse apply(RuntimeException exception, HttpServletRequest request) {
+        return select(request == null ? null : request.getHeader(HttpHeaders.ACCEPT)).apply(exception);
+    }
+
+    public Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> select(String acceptHeader) {
+        if (acceptHeader == null || encoders.length == 1) {
+            return encoders[0];
+        }
+        Integer selection = selections.get(acceptHeader);
+        if (selection == null) {
+            selection = negotiate(acceptHeader);
+            selections.put(acceptHeader, selection);
+        }
+        return encoders[selection];
+    }
+
+    public List<MediaType> getMediaTypes() {
+        return List.of(mediaTypes);
+    }
+
+    private int negotiate(String acceptHeader) {
+        List<MediaType> requestedTypes;
+        try {
+            requestedTypes = MediaType.parseMediaTypes(acceptHeader);
+        } catch (InvalidMediaTypeException e) {
+            return 0;
+        }
+
+        // ! q=0 marks a type as not acceptable, it excludes the encoders it includes instead of being skipped
+        List<MediaType> excludedTypes = new ArrayList<>();
+        for (MediaType requestedType : requestedTypes) {
+            if (requestedType.getQualityValue() <= 0) {
+                excludedTypes.add(requestedType);
+            }
+        }
+
+        int best = 0;
+        double bestQuality = 0;
+        int bestSpecificity = -1;
+        for (MediaType requestedType : requestedTypes) {
+            double quality = requestedType.getQualityValue();
+            int specificity = specificity(requestedType);
+            if (quality <= 0 || quality < bestQuality || quality == bestQuality && specificity <= bestSpecificity) {
+                continue;
+            }
+            for (int i = 0; i < mediaTypes.length; i++) {
+                if (requestedType.isCompatibleWith(mediaTypes[i]) && !isExcluded(mediaTypes[i], specificity, excludedTypes)) {
+                    best = i;
+                    bestQuality = quality;
+                    bestSpecificity = specificity;
+                    break;
+                }
+            }
+        }
+        // ! Nothing acceptable falls back to the first encoder instead of failing the rejection
+        return best;
+    }
+
+    // An exclusion only applies when it is at least as specific as the range which accepted the type,
+    // so "*/*;q=0, text/plain" still accepts text/plain
+    private static boolean isExcluded(MediaType mediaType, int acceptedSpecificity, List<MediaType> excludedTypes) {
+        for (MediaType excludedType : excludedTypes) {
+            if (excludedType.includes(mediaType) && specificity(excludedType) >= acceptedSpecificity) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static int specificity(MediaType mediaType) {
+        return mediaType.isWildcardType() ? 0 : mediaType.isWildcardSubtype() ? 1 : 2;
+    }
+
+    public static class Builder {
+
+        private final List<MediaType> mediaTypes = new ArrayList<>();
+        private final List<Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse>> encoders = new ArrayList<>();
+        private int cacheSize = DEFAULT_CACHE_SIZE;
+
+        private Builder() {
+        }
+
+        // First registered encoder is the default when Accept is missing or nothing is acceptable
+        public Builder encoder(String mediaType, Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> encoder) {
+            this.mediaTypes.add(MediaType.parseMediaType(mediaType));
+            this.encoders.add(encoder);
+            return this;
+        }
+
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public ContentNegotiatingExceptionMapping build() {
+            if (encoders.isEmpty()) {
+                throw new IllegalStateException("At least one encoder must be configured");
+            }
+            return new ContentNegotiatingExceptionMapping(this);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package dev.clutcher.security.handler.functions;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+public final class ErrorBodyTemplate {
+
+    public static final String TRACE_ID = "traceId";
+    public static final String PATH = "path";
+    public static final String TIMESTAMP = "timestamp";
+    public static final String EXCEPTION_MESSAGE = "exceptionMessage";
+
+    private static final String SLOT_START = "${";
+    private static final String SLOT_END = "}";
+    private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(StandardCharsets.US_ASCII);
+    private static final int MAX_RETAINED_BUFFER_SIZE = 16 * 1024;
+
+    // ! Reused per thread, rendered body is only valid until the next render on the same thread
+    private static final ThreadLocal<RenderedBody> RENDER_BUFFER = ThreadLocal.withInitial(RenderedBody::new);
+
+    private final String source;
+    private final Segment[] segments;
+
+    private ErrorBodyTemplate(String source, Segment[] segments) {
+        this.source = source;
+        this.segments = segments;
+    }
+
+    public static ErrorBodyTemplate compile(String source) {
+        List<Segment> segments = new ArrayList<>();
+        int position = 0;
+        while (position < source.length()) {
+            int slotStart = source.indexOf(SLOT_START, position);
+            if (slotStart < 0) {
+                segments.add(Segment.constant(source.substring(position)));
+                break;
+            }
+            int slotEnd = source.indexOf(SLOT_END, slotStart + SLOT_START.length());
+            if (slotEnd < 0) {
+                throw new IllegalArgumentException("Unclosed template variable at index " + slotStart + " in: " + source);
+            }
+            if (slotStart > position) {
+                segments.add(Segment.constant(source.substring(position, slotStart)));
+            }
+            String name = source.substring(slotStart + SLOT_START.length(), slotEnd).trim();
+            if (!isValidName(name)) {
+                throw new IllegalArgumentException("Invalid template variable '" + name + "' at index " + slotStart + " in: " + source);
+            }
+            segments.add(Segment.slot(name));
+            position = slotEnd + SLOT_END.length();
+        }
+        return new ErrorBodyTemplate(source, merge(segments));
+    }
+
+    // Replaces a startup-time variable (e.g. code or message) with its escaped value
+    public ErrorBodyTemplate bind(String name, String value) {
+        StringBuilder escapedValue = new StringBuilder();
+        JsonStrings.escape(value == null ? "" : value, escapedValue);
+
+        List<Segment> boundSegments = new ArrayList<>(segments.length);
+        for (Segment segment : segments) {
+            boundSegments.add(segment.kind == SlotKind.BOUND && segment.name.equals(name)
+                    ? Segment.constant(escapedValue.toString())
+                    : segment);
+        }
+        return new ErrorBodyTemplate(source, merge(boundSegments));
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public Set<String> getUnboundNames() {
+        Set<String> names = new LinkedHashSet<>();
+        for (Segment segment : segments) {
+            if (segment.kind == SlotKind.BOUND) {
+                names.add(segment.name);
+            }
+        }
+        return names;
+    }
+
+    public boolean isConstant() {
+        return segments.length == 0 || segments.length == 1 && segments[0].kind == SlotKind.CONSTANT;
+    }
+
+    public RenderedBody render(Context context) {
+        RenderedBody body = RENDER_BUFFER.get();
+        body.reset();
+        for (Segment segment : segments) {
+            switch (segment.kind) {
+                case CONSTANT -> body.append(segment.bytes);
+                case TRACE_ID -> body.appendEscaped(context.traceId());
+                case PATH -> body.appendEscaped(context.path());
+                case TIMESTAMP -> body.appendEscaped(context.timestamp() == null ? null : context.timestamp().toString());
+                case EXCEPTION_MESSAGE -> body.appendEscaped(context.exceptionMessage());
+                // ! Unbound startup variables render empty rather than failing on the request path
+                case BOUND -> {
+                }
+            }
+        }
+        return body;
+    }
+
+    @Override
+    public String toString() {
+        return "ErrorBodyTemplate[" + source + "]";
+    }
+
+    private static boolean isValidName(String name) {
+        if (name.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (!Character.isLetterOrDigit(c) && c != '_' && c != '-' && c != '.') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static Segment[] merge(List<Segment> segments) {
+        List<Segment> merged = new ArrayList<>(segments.size());
+        ByteArrayOutputStream constant = new ByteArrayOutputStream();
+        for (Segment segment : segments) {
+            if (segment.kind == SlotKind.CONSTANT) {
+                constant.writeBytes(segment.bytes);
+                continue;
+            }
+            if (constant.size() > 0) {
+                merged.add(new Segment(SlotKind.CONSTANT, null, constant.toByteArray()));
+                constant.reset();
+            }
+            merged.add(segment);
+        }
+        if (constant.size() > 0) {
+            merged.add(new Segment(SlotKind.CONSTANT, null, constant.toByteArray()));
+        }
+        return merged.toArray(new Segment[0]);
+    }
+
+    public record Context(String traceId, String path, Instant timestamp, String exceptionMessage) {
+    }
+
+    private enum SlotKind {
+        CONSTANT,
+        TRACE_ID,
+        PATH,
+        TIMESTAMP,
+        EXCEPTION_MESSAGE,
+        BOUND
+    }
+
+    private record Segment(SlotKind kind, String name, byte[] bytes) {
+
+        private static Segment constant(String value) {
+            return new Segment(SlotKind.CONSTANT, null, value.getBytes(StandardCharsets.UTF_8));
+        }
+
+        private static Segment slot(String name) {
+            SlotKind kind = switch (name) {
+                case TRACE_ID -> SlotKind.TRACE_ID;
+                case PATH -> SlotKind.PATH;
+                case TIMESTAMP -> SlotKind.TIMESTAMP;
+                case EXCEPTION_MESSAGE -> SlotKind.EXCEPTION_MESSAGE;
+                default -> SlotKind.BOUND;
+            };
+            return new Segment(kind, name, null);
+        }
+    }
+
+    public static final class RenderedBody {
+
+        private byte[] bytes = new byte[512];
+        private int length;
+
+        private RenderedBody() {
+        }
+
+        public int length() {
+            return length;
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(bytes, 0, length);
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(bytes, length);
+        }
+
+        public String asString() {
+            return new String(bytes, 0, length, StandardCharsets.UTF_8);
+        }
+
+        private void reset() {
+            if (bytes.length > MAX_RETAINED_BUFFER_SIZE) {
+                // ! Don't keep a buffer grown by one oversized message for the lifetime of the thread
+                bytes = new byte[512];
+            }
+            length = 0;
+        }
+
+        private void append(byte[] value) {
+            ensureCapacity(value.length);
+            System.arraycopy(value, 0, bytes, length, value.length);
+            length += value.length;
+        }
+
+        private void appendEscaped(String value) {
+            if (value == null) {
+                return;
+            }
+            // ! Worst case is 6 bytes per char for \\u00XX escapes
+            ensureCapacity(value.length() * 6);
+            for (int i = 0; i < value.length(); i++) {
+                char c = value.charAt(i);
+                switch (c) {
+                    case '"' -> put('\\', '"');
+                    case '\\' -> put('\\', '\\');
+                    case '\n' -> put('\\', 'n');
+                    case '\r' -> put('\\', 'r');
+                    case '\t' -> put('\\', 't');
+                    default -> {
+                        if (c < 0x20) {
+                            put('\\', 'u');
+                            put('0', '0');
+                            bytes[length++] = HEX_DIGITS[c >> 4];
+                            bytes[length++] = HEX_DIGITS[c & 0xF];
+                        } else if (c < 0x80) {
+                            bytes[length++] = (byte) c;
+                        } else if (c < 0x800) {
+                            bytes[length++] = (byte) (0xC0 | (c >> 6));
+                            bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                        } else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+                                && Character.isLowSurrogate(value.charAt(i + 1))) {
+                            int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                            bytes[length++] = (byte) (0xF0 | (codePoint >> 18));
+                            bytes[length++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+                            bytes[length++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+                            bytes[length++] = (byte) (0x80 | (codePoint & 0x3F));
+                        } else if (Character.isSurrogate(c)) {
+                            bytes[length++] = '?';
+                        } else {
+                            bytes[length++] = (byte) (0xE0 | (c >> 12));
+                            bytes[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                            bytes[length++] = (byte) (0x80 | (c & 0x3F));
+                        }
+                    }
+                }
+            }
+        }
+
+        private void put(char first, char second) {
+            bytes[length++] = (byte) first;
+            bytes[length++] = (byte) second;
+        }
+
+        private void ensureCapacity(int additional) {
+            int required = length + additional;
+            if (required > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(required, bytes.length * 2));
+            }
+        }
+    }
+}
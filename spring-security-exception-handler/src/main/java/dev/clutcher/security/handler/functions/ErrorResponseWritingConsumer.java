@@ -1,37 +1,287 @@
 package dev.clutcher.security.handler.functions;
 
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 
 import java.io.IOException;
+import java.io.OutputStream;
 import java.io.PrintWriter;
-import java.util.function.BiConsumer;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.BiFunction;
 import java.util.function.Function;
 
-public class ErrorResponseWritingConsumer implements BiConsumer<RuntimeException, HttpServletResponse> {
+public class ErrorResponseWritingConsumer implements RequestAwareExceptionConsumer {
 
-    private final Function<RuntimeException, ErrorResponse> exceptionMapper;
+    public static final String DEFAULT_TRACE_ID_HEADER = "X-Request-Id";
+
+    private final BiFunction<RuntimeException, HttpServletRequest, ErrorResponse> exceptionMapper;
+    private final String traceIdHeader;
+    private final String vary;
+    private final ResponseHeaders headers;
+    private final Duration asyncWriteTimeout;
 
     public ErrorResponseWritingConsumer(Function<RuntimeException, ErrorResponse> exceptionMapper) {
+        this(exceptionMapper, DEFAULT_TRACE_ID_HEADER);
+    }
+
+    public ErrorResponseWritingConsumer(Function<RuntimeException, ErrorResponse> exceptionMapper, String traceIdHeader) {
+        this((exception, request) -> exceptionMapper.apply(exception), traceIdHeader, null, ResponseHeaders.EMPTY, null);
+    }
+
+    public ErrorResponseWritingConsumer(BiFunction<RuntimeException, HttpServletRequest, ErrorResponse> exceptionMapper) {
+        this(exceptionMapper, DEFAULT_TRACE_ID_HEADER);
+    }
+
+    public ErrorResponseWritingConsumer(BiFunction<RuntimeException, HttpServletRequest, ErrorResponse> exceptionMapper,
+                                        String traceIdHeader) {
+        this(exceptionMapper, traceIdHeader, resolveVary(exceptionMapper), ResponseHeaders.EMPTY, null);
+    }
+
+    private ErrorResponseWritingConsumer(BiFunction<RuntimeException, HttpServletRequest, ErrorResponse> exceptionMapper,
+                                         String traceIdHeader, String vary, ResponseHeaders headers,
+                                         Duration asyncWriteTimeout) {
         this.exceptionMapper = exceptionMapper;
+        this.traceIdHeader = traceIdHeader;
+        this.vary = vary;
+        this.headers = headers;
+        this.asyncWriteTimeout = asyncWriteTimeout;
     }
 
+    /**
+     * Returns a consumer which adds the given headers to every error response, before headers of the mapped
+     * {@link ErrorResponse}.
+     */
+    public ErrorResponseWritingConsumer withHeaders(ResponseHeaders headers) {
+        Objects.requireNonNull(headers, "headers");
+        return new ErrorResponseWritingConsumer(exceptionMapper, traceIdHeader, vary, headers, asyncWriteTimeout);
+    }
+
+    public ResponseHeaders getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns a consumer which writes bodies through a Servlet {@code WriteListener} and releases the request thread
+     * right away. Requests which don't support async processing are written blocking.
+     */
+    public ErrorResponseWritingConsumer withAsyncWrite(Duration timeout) {
+        Objects.requireNonNull(timeout, "timeout");
+        if (timeout.isNegative() || timeout.isZero()) {
+            throw new IllegalArgumentException("Async write timeout must be positive");
+        }
+        return new ErrorResponseWritingConsumer(exceptionMapper, traceIdHeader, vary, headers, timeout);
+    }
+
+    public boolean isAsyncWrite() {
+        return asyncWriteTimeout != null;
+    }
 
     @Override
-    public void accept(RuntimeException exception, HttpServletResponse response) {
-        ErrorResponse errorResponse = exceptionMapper.apply(exception);
+    public void accept(RuntimeException exception, HttpServletRequest request, HttpServletResponse response) {
+        ErrorResponse errorResponse = exceptionMapper.apply(exception, request);
 
         response.setStatus(errorResponse.status());
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
+        headers.applyTo(response);
+        errorResponse.headers().applyTo(response);
+        if (vary != null) {
+            // ! Body depends on negotiated headers, so shared caches must not serve it to other clients
+            response.addHeader("Vary", vary);
+        }
+        response.setContentType(errorResponse.contentType());
 
-        try (PrintWriter writer = response.getWriter()) {
-            writer.write(errorResponse.body());
+        boolean asyncWrite = asyncWriteTimeout != null && AsyncBodyWriter.canStart(request);
+        try {
+            if (errorResponse.isTemplated()) {
+                ErrorBodyTemplate.RenderedBody body = errorResponse.template().render(createContext(exception, request));
+                response.setContentLength(body.length());
+                // ! Rendered bytes live in a per-thread buffer, so async writes take a copy
+                if (!asyncWrite || !AsyncBodyWriter.start(body.toByteArray(), request, response, asyncWriteTimeout)) {
+                    writeRendered(body, response);
+                }
+            } else {
+                response.setContentLength(errorResponse.contentLength());
+                if (!asyncWrite || !AsyncBodyWriter.start(errorResponse.encodedBody, request, response, asyncWriteTimeout)) {
+                    write(errorResponse, response);
+                }
+            }
         } catch (IOException e) {
             throw new RuntimeException(e);
         }
     }
 
-    public record ErrorResponse(int status, String body) {
+    private static String resolveVary(BiFunction<RuntimeException, HttpServletRequest, ErrorResponse> exceptionMapper) {
+        if (exceptionMapper instanceof ContentNegotiatingExceptionMapping) {
+            return "Accept";
+        }
+        if (exceptionMapper instanceof LocaleNegotiatingExceptionMapping localeMapping) {
+            return localeMapping.isContentNegotiating() ? "Accept-Language, Accept" : "Accept-Language";
+        }
+        return null;
+    }
+
+    private ErrorBodyTemplate.Context createContext(RuntimeException exception, HttpServletRequest request) {
+        if (request == null) {
+            return new ErrorBodyTemplate.Context(null, null, Instant.now(), exception.getMessage());
+        }
+        return new ErrorBodyTemplate.Context(
+                request.getHeader(traceIdHeader),
+                request.getRequestURI(),
+                Instant.now(),
+                exception.getMessage()
+        );
+    }
+
+    private static void write(ErrorResponse errorResponse, HttpServletResponse response) throws IOException {
+        ServletOutputStream outputStream;
+        try {
+            outputStream = response.getOutputStream();
+        } catch (IllegalStateException e) {
+            // ! Writer was already obtained by downstream code, so body can't be written as raw bytes
+            try (PrintWriter writer = response.getWriter()) {
+                writer.write(errorResponse.body());
+            }
+            return;
+        }
+        try (outputStream) {
+            errorResponse.writeTo(outputStream);
+        }
+    }
+
+    private static void writeRendered(ErrorBodyTemplate.RenderedBody body, HttpServletResponse response) throws IOException {
+        ServletOutputStream outputStream;
+        try {
+            outputStream = response.getOutputStream();
+        } catch (IllegalStateException e) {
+            try (PrintWriter writer = response.getWriter()) {
+                writer.write(body.asString());
+            }
+            return;
+        }
+        try (outputStream) {
+            body.writeTo(outputStream);
+        }
+    }
+
+    public static final class ErrorResponse {
+
+        public static final String DEFAULT_CONTENT_TYPE = "application/json;charset=UTF-8";
+
+        private final int status;
+        private final String body;
+        private final String contentType;
+        private final byte[] encodedBody;
+        private final ErrorBodyTemplate template;
+        private final ResponseHeaders headers;
+
+        public ErrorResponse(int status, String body) {
+            this(status, body, DEFAULT_CONTENT_TYPE);
+        }
+
+        public ErrorResponse(int status, String body, String contentType) {
+            this.status = status;
+            this.body = Objects.requireNonNull(body, "body");
+            this.contentType = Objects.requireNonNull(contentType, "contentType");
+            this.encodedBody = body.getBytes(StandardCharsets.UTF_8);
+            this.template = null;
+            this.headers = ResponseHeaders.EMPTY;
+        }
+
+        public ErrorResponse(int status, ErrorBodyTemplate template) {
+            this(status, template, DEFAULT_CONTENT_TYPE);
+        }
+
+        public ErrorResponse(int status, ErrorBodyTemplate template, String contentType) {
+            Objects.requireNonNull(template, "template");
+            if (!template.getUnboundNames().isEmpty()) {
+                throw new IllegalArgumentException("Unbound template variables " + template.getUnboundNames()
+                        + " in: " + template.getSource());
+            }
+            this.status = status;
+            this.contentType = Objects.requireNonNull(contentType, "contentType");
+            // ! Static rendering backs body() and the pre-encoded accessors used where no request is available
+            this.encodedBody = template.render(new ErrorBodyTemplate.Context(null, null, null, null)).toByteArray();
+            this.body = new String(encodedBody, StandardCharsets.UTF_8);
+            this.template = template.isConstant() ? null : template;
+            this.headers = ResponseHeaders.EMPTY;
+        }
+
+        private ErrorResponse(ErrorResponse errorResponse, ResponseHeaders headers) {
+            this.status = errorResponse.status;
+            this.body = errorResponse.body;
+            this.contentType = errorResponse.contentType;
+            this.encodedBody = errorResponse.encodedBody;
+            this.template = errorResponse.template;
+            this.headers = Objects.requireNonNull(headers, "headers");
+        }
+
+        public ErrorResponse withHeaders(ResponseHeaders headers) {
+            return new ErrorResponse(this, headers);
+        }
+
+        public int status() {
+            return status;
+        }
+
+        public String body() {
+            return body;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        public ErrorBodyTemplate template() {
+            return template;
+        }
+
+        public ResponseHeaders headers() {
+            return headers;
+        }
+
+        public boolean isTemplated() {
+            return template != null;
+        }
+
+        public int contentLength() {
+            return encodedBody.length;
+        }
+
+        public ByteBuffer asByteBuffer() {
+            return ByteBuffer.wrap(encodedBody).asReadOnlyBuffer();
+        }
+
+        public void writeTo(OutputStream outputStream) throws IOException {
+            outputStream.write(encodedBody);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ErrorResponse that)) {
+                return false;
+            }
+            return status == that.status && body.equals(that.body) && contentType.equals(that.contentType)
+                    && headers.equals(that.headers)
+                    && Objects.equals(template == null ? null : template.getSource(),
+                                      that.template == null ? null : that.template.getSource());
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(status, body, contentType, headers, template == null ? null : template.getSource());
+        }
+
+        @Override
+        public String toString() {
+            return "ErrorResponse[status=" + status + ", body=" + body + ", contentType=" + contentType + "]";
+        }
     }
 
 }
@@ -8,47 +8,215 @@ import java.util.function.Function;
 
 public class ExceptionMappingFunctions {
 
+    public static final String PROBLEM_JSON_CONTENT_TYPE = "application/problem+json";
+
+    public static final String DEFAULT_PROBLEM_TYPE = "about:blank";
+
+    public static final String PLAIN_TEXT_CONTENT_TYPE = "text/plain;charset=UTF-8";
+
+    public static final String PROBLEM_JSON_TEMPLATE =
+            "{\"type\":\"${type}\",\"title\":\"${title}\",\"status\":${status},\"detail\":\"${detail}\",\"instance\":\"${path}\"}";
+
+    public static final String JSON_BODY_TEMPLATE =
+            "{\"code\":\"${code}\",\"message\":\"${message}\",\"path\":\"${path}\",\"traceId\":\"${traceId}\",\"timestamp\":\"${timestamp}\"}";
+
+    public static final String GRAPHQL_JSON_BODY_TEMPLATE =
+            "{\"errors\":[{\"message\":\"${message}\",\"extensions\":{\"errorType\":\"${errorType}\",\"classification\":\"${classification}\",\"code\":\"${code}\",\"traceId\":\"${traceId}\",\"timestamp\":\"${timestamp}\"}}]}";
+
+    private static final ExceptionMappingRegistry JSON_BODY_EXCEPTION_MAPPING = ExceptionMappingRegistry.builder()
+            .register(AuthenticationException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_UNAUTHORIZED,
+                    jsonBody("AUTHENTICATION_ERROR", "Authentication required")
+            ))
+            .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_FORBIDDEN,
+                    jsonBody("ACCESS_DENIED", "Access denied")
+            ))
+            .fallback(new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    jsonBody("INTERNAL_ERROR", "Internal server error")
+            ))
+            .build();
+
+    private static final ExceptionMappingRegistry GRAPHQL_JSON_BODY_EXCEPTION_MAPPING = ExceptionMappingRegistry.builder()
+            .register(AuthenticationException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_UNAUTHORIZED,
+                    graphqlJsonBody("Authentication required", "AUTHENTICATION_REQUIRED", "UNAUTHENTICATED", "AUTHENTICATION_ERROR")
+            ))
+            .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_FORBIDDEN,
+                    graphqlJsonBody("Access denied", "ACCESS_DENIED", "FORBIDDEN", "ACCESS_DENIED")
+            ))
+            .fallback(new ErrorResponseWritingConsumer.ErrorResponse(
+                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    graphqlJsonBody("Internal server error", "INTERNAL_SERVER_ERROR", "INTERNAL_ERROR", "INTERNAL_ERROR")
+            ))
+            .build();
+
+    private static final ExceptionMappingRegistry PROBLEM_JSON_EXCEPTION_MAPPING = ExceptionMappingRegistry.builder()
+            .register(AuthenticationException.class, problemResponse(
+                    DEFAULT_PROBLEM_TYPE, "Unauthorized", HttpServletResponse.SC_UNAUTHORIZED, "Authentication required"
+            ))
+            .register(AccessDeniedException.class, problemResponse(
+                    DEFAULT_PROBLEM_TYPE, "Forbidden", HttpServletResponse.SC_FORBIDDEN, "Access denied"
+            ))
+            .fallback(problemResponse(
+                    DEFAULT_PROBLEM_TYPE, "Internal Server Error", HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error"
+            ))
+            .build();
+
+    private static final ExceptionMappingRegistry PLAIN_TEXT_EXCEPTION_MAPPING = ExceptionMappingRegistry.builder()
+            .register(AuthenticationException.class, plainTextResponse(HttpServletResponse.SC_UNAUTHORIZED, "Authentication required"))
+            .register(AccessDeniedException.class, plainTextResponse(HttpServletResponse.SC_FORBIDDEN, "Access denied"))
+            .fallback(plainTextResponse(HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error"))
+            .build();
+
     public static Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> jsonBodyExceptionMapping() {
-        return exception -> {
-            if (exception instanceof AuthenticationException) {
-                return new ErrorResponseWritingConsumer.ErrorResponse(
+        return JSON_BODY_EXCEPTION_MAPPING;
+    }
+
+    public static ExceptionMappingRegistry.Builder jsonBodyExceptionMappingBuilder() {
+        return JSON_BODY_EXCEPTION_MAPPING.toBuilder();
+    }
+
+    public static Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> graphqlJsonBodyExceptionMapping() {
+        return GRAPHQL_JSON_BODY_EXCEPTION_MAPPING;
+    }
+
+    public static ExceptionMappingRegistry.Builder graphqlJsonBodyExceptionMappingBuilder() {
+        return GRAPHQL_JSON_BODY_EXCEPTION_MAPPING.toBuilder();
+    }
+
+    public static Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> problemJsonExceptionMapping() {
+        return PROBLEM_JSON_EXCEPTION_MAPPING;
+    }
+
+    public static ExceptionMappingRegistry.Builder problemJsonExceptionMappingBuilder() {
+        return PROBLEM_JSON_EXCEPTION_MAPPING.toBuilder();
+    }
+
+    public static Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> plainTextExceptionMapping() {
+        return PLAIN_TEXT_EXCEPTION_MAPPING;
+    }
+
+    public static ExceptionMappingRegistry.Builder plainTextExceptionMappingBuilder() {
+        return PLAIN_TEXT_EXCEPTION_MAPPING.toBuilder();
+    }
+
+    public static ErrorResponseWritingConsumer.ErrorResponse plainTextResponse(int status, String message) {
+        return new ErrorResponseWritingConsumer.ErrorResponse(status, message, PLAIN_TEXT_CONTENT_TYPE);
+    }
+
+    public static ErrorResponseWritingConsumer.ErrorResponse problemResponse(String type, String title, int status, String detail) {
+        return new ErrorResponseWritingConsumer.ErrorResponse(
+                status,
+                problemJsonBody(type, title, status, detail),
+                PROBLEM_JSON_CONTENT_TYPE
+        );
+    }
+
+    public static ExceptionMappingRegistry templatedJsonBodyExceptionMapping(String template) {
+        ErrorBodyTemplate compiledTemplate = ErrorBodyTemplate.compile(template);
+        return ExceptionMappingRegistry.builder()
+                .register(AuthenticationException.class, new ErrorResponseWritingConsumer.ErrorResponse(
                         HttpServletResponse.SC_UNAUTHORIZED,
-                        "{\"code\":\"AUTHENTICATION_ERROR\",\"message\":\"Authentication required\"}"
-                );
-            }
-            if (exception instanceof AccessDeniedException) {
-                return new ErrorResponseWritingConsumer.ErrorResponse(
+                        jsonBodyTemplate(compiledTemplate, "AUTHENTICATION_ERROR", "Authentication required")
+                ))
+                .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
                         HttpServletResponse.SC_FORBIDDEN,
-                        "{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}"
-                );
-            }
-            return new ErrorResponseWritingConsumer.ErrorResponse(
-                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                    "{\"code\":\"INTERNAL_ERROR\",\"message\":\"Internal server error\"}"
-            );
-        };
+                        jsonBodyTemplate(compiledTemplate, "ACCESS_DENIED", "Access denied")
+                ))
+                .fallback(new ErrorResponseWritingConsumer.ErrorResponse(
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        jsonBodyTemplate(compiledTemplate, "INTERNAL_ERROR", "Internal server error")
+                ))
+                .build();
     }
 
-    public static Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> graphqlJsonBodyExceptionMapping() {
-        return exception -> {
-            if (exception instanceof AuthenticationException) {
-                return new ErrorResponseWritingConsumer.ErrorResponse(
+    public static ExceptionMappingRegistry templatedGraphqlJsonBodyExceptionMapping(String template) {
+        ErrorBodyTemplate compiledTemplate = ErrorBodyTemplate.compile(template);
+        return ExceptionMappingRegistry.builder()
+                .register(AuthenticationException.class, new ErrorResponseWritingConsumer.ErrorResponse(
                         HttpServletResponse.SC_UNAUTHORIZED,
-                        "{\"errors\":[{\"message\":\"Authentication required\",\"extensions\":{\"errorType\":\"AUTHENTICATION_REQUIRED\",\"classification\":\"UNAUTHENTICATED\",\"code\":\"AUTHENTICATION_ERROR\"}}]}"
-                );
-            }
-            if (exception instanceof AccessDeniedException) {
-                return new ErrorResponseWritingConsumer.ErrorResponse(
+                        graphqlJsonBodyTemplate(compiledTemplate, "Authentication required", "AUTHENTICATION_REQUIRED", "UNAUTHENTICATED", "AUTHENTICATION_ERROR")
+                ))
+                .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
                         HttpServletResponse.SC_FORBIDDEN,
-                        "{\"errors\":[{\"message\":\"Access denied\",\"extensions\":{\"errorType\":\"ACCESS_DENIED\",\"classification\":\"FORBIDDEN\",\"code\":\"ACCESS_DENIED\"}}]}"
-                );
-            }
-            return new ErrorResponseWritingConsumer.ErrorResponse(
-                    HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
-                    "{\"errors\":[{\"message\":\"Internal server error\",\"extensions\":{\"errorType\":\"INTERNAL_SERVER_ERROR\",\"classification\":\"INTERNAL_ERROR\",\"code\":\"INTERNAL_ERROR\"}}]}"
-            );
-        };
+                        graphqlJsonBodyTemplate(compiledTemplate, "Access denied", "ACCESS_DENIED", "FORBIDDEN", "ACCESS_DENIED")
+                ))
+                .fallback(new ErrorResponseWritingConsumer.ErrorResponse(
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        graphqlJsonBodyTemplate(compiledTemplate, "Internal server error", "INTERNAL_SERVER_ERROR", "INTERNAL_ERROR", "INTERNAL_ERROR")
+                ))
+                .build();
     }
 
+    public static ExceptionMappingRegistry templatedProblemJsonExceptionMapping(String template) {
+        ErrorBodyTemplate compiledTemplate = ErrorBodyTemplate.compile(template);
+        return ExceptionMappingRegistry.builder()
+                .register(AuthenticationException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                        HttpServletResponse.SC_UNAUTHORIZED,
+                        problemJsonBodyTemplate(compiledTemplate, DEFAULT_PROBLEM_TYPE, "Unauthorized", HttpServletResponse.SC_UNAUTHORIZED, "Authentication required"),
+                        PROBLEM_JSON_CONTENT_TYPE
+                ))
+                .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                        HttpServletResponse.SC_FORBIDDEN,
+                        problemJsonBodyTemplate(compiledTemplate, DEFAULT_PROBLEM_TYPE, "Forbidden", HttpServletResponse.SC_FORBIDDEN, "Access denied"),
+                        PROBLEM_JSON_CONTENT_TYPE
+                ))
+                .fallback(new ErrorResponseWritingConsumer.ErrorResponse(
+                        HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                        problemJsonBodyTemplate(compiledTemplate, DEFAULT_PROBLEM_TYPE, "Internal Server Error", HttpServletResponse.SC_INTERNAL_SERVER_ERROR, "Internal server error"),
+                        PROBLEM_JSON_CONTENT_TYPE
+                ))
+                .build();
+    }
+
+    public static ErrorBodyTemplate jsonBodyTemplate(ErrorBodyTemplate template, String code, String message) {
+        return template.bind("code", code)
+                       .bind("message", message);
+    }
+
+    public static ErrorBodyTemplate graphqlJsonBodyTemplate(ErrorBodyTemplate template, String message, String errorType,
+                                                            String classification, String code) {
+        return template.bind("message", message)
+                       .bind("errorType", errorType)
+                       .bind("classification", classification)
+                       .bind("code", code);
+    }
+
+    public static String jsonBody(String code, String message) {
+        return "{\"code\":\"" + JsonStrings.escape(code) + "\",\"message\":\"" + JsonStrings.escape(message) + "\"}";
+    }
+
+    public static ErrorBodyTemplate problemJsonBodyTemplate(ErrorBodyTemplate template, String type, String title,
+                                                            int status, String detail) {
+        return template.bind("type", type)
+                       .bind("title", title)
+                       .bind("status", String.valueOf(status))
+                       .bind("detail", detail);
+    }
+
+    public static String problemJsonBody(String type, String title, int status, String detail) {
+        StringBuilder body = new StringBuilder(96);
+        body.append("{\"type\":\"");
+        JsonStrings.escape(type, body);
+        body.append("\",\"title\":\"");
+        JsonStrings.escape(title, body);
+        body.append("\",\"status\":").append(status);
+        if (detail != null) {
+            body.append(",\"detail\":\"");
+            JsonStrings.escape(detail, body);
+            body.append('"');
+        }
+        return body.append('}').toString();
+    }
+
+    public static String graphqlJsonBody(String message, String errorType, String classification, String code) {
+        return "{\"errors\":[{\"message\":\"" + JsonStrings.escape(message)
+                + "\",\"extensions\":{\"errorType\":\"" + JsonStrings.escape(errorType)
+                + "\",\"classification\":\"" + JsonStrings.escape(classification)
+                + "\",\"code\":\"" + JsonStrings.escape(code) + "\"}}]}";
+    }
 
 }
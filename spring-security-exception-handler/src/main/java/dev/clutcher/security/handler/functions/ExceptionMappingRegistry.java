@@ -0,0 +1,82 @@
+package dev.clutcher.security.handler.functions;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+public class ExceptionMappingRegistry implements Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> {
+
+    private final Map<Class<? extends RuntimeException>, ErrorResponseWritingConsumer.ErrorResponse> mappings;
+    private final ErrorResponseWritingConsumer.ErrorResponse fallback;
+
+    // ! Nearest registered supertype is resolved once per exception class, next lookups are O(1)
+    private final ClassValue<ErrorResponseWritingConsumer.ErrorResponse> resolvedMappings = new ClassValue<>() {
+        @Override
+        protected ErrorResponseWritingConsumer.ErrorResponse computeValue(Class<?> type) {
+            for (Class<?> current = type; current != null; current = current.getSuperclass()) {
+                ErrorResponseWritingConsumer.ErrorResponse errorResponse = mappings.get(current);
+                if (errorResponse != null) {
+                    return errorResponse;
+                }
+            }
+            return fallback;
+        }
+    };
+
+    private ExceptionMappingRegistry(Map<Class<? extends RuntimeException>, ErrorResponseWritingConsumer.ErrorResponse> mappings,
+                                     ErrorResponseWritingConsumer.ErrorResponse fallback) {
+        this.mappings = Collections.unmodifiableMap(new LinkedHashMap<>(mappings));
+        this.fallback = fallback;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ErrorResponseWritingConsumer.ErrorResponse apply(RuntimeException exception) {
+        return resolvedMappings.get(exception.getClass());
+    }
+
+    public Map<Class<? extends RuntimeException>, ErrorResponseWritingConsumer.ErrorResponse> getMappings() {
+        return mappings;
+    }
+
+    public ErrorResponseWritingConsumer.ErrorResponse getFallback() {
+        return fallback;
+    }
+
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.mappings.putAll(mappings);
+        builder.fallback = fallback;
+        return builder;
+    }
+
+    public static class Builder {
+
+        private final Map<Class<? extends RuntimeException>, ErrorResponseWritingConsumer.ErrorResponse> mappings = new LinkedHashMap<>();
+        private ErrorResponseWritingConsumer.ErrorResponse fallback;
+
+        private Builder() {
+        }
+
+        public Builder register(Class<? extends RuntimeException> exceptionType, ErrorResponseWritingConsumer.ErrorResponse errorResponse) {
+            this.mappings.put(exceptionType, errorResponse);
+            return this;
+        }
+
+        public Builder fallback(ErrorResponseWritingConsumer.ErrorResponse fallback) {
+            this.fallback = fallback;
+            return this;
+        }
+
+        public ExceptionMappingRegistry build() {
+            if (fallback == null) {
+                throw new IllegalStateException("Fallback error response must be configured");
+            }
+            return new ExceptionMappingRegistry(mappings, fallback);
+        }
+    }
+}
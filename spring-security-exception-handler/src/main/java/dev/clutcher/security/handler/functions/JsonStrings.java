@@ -0,0 +1,35 @@
+package dev.clutcher.security.handler.functions;
+
+final class JsonStrings {
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+
+    private JsonStrings() {
+    }
+
+    static String escape(String value) {
+        StringBuilder builder = new StringBuilder(value.length() + 8);
+        escape(value, builder);
+        return builder.toString();
+    }
+
+    static void escape(CharSequence value, StringBuilder builder) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '"' -> builder.append("\\\"");
+                case '\\' -> builder.append("\\\\");
+                case '\n' -> builder.append("\\n");
+                case '\r' -> builder.append("\\r");
+                case '\t' -> builder.append("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        builder.append("\\u00").append(HEX_DIGITS[c >> 4]).append(HEX_DIGITS[c & 0xF]);
+                    } else {
+                        builder.append(c);
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package dev.clutcher.security.handler.functions;
+
+import dev.clutcher.security.support.BoundedCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class LocaleNegotiatingExceptionMapping
+        implements BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> {
+
+    public static final int DEFAULT_CACHE_SIZE = 256;
+
+    private final List<Locale> locales;
+    // ! Matched by language tag, locales like no_NO_NY don't survive the round trip through Locale.lookup
+    private final List<String> languageTags;
+    private final BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse>[] mappings;
+    private final boolean contentNegotiating;
+
+    // ! Selected mapping index per raw Accept-Language value, bounded so arbitrary headers can't grow the heap
+    private final BoundedCache<String, Integer> selections;
+
+    @SuppressWarnings("unchecked")
+    private LocaleNegotiatingExceptionMapping(Builder builder) {
+        this.locales = List.copyOf(builder.locales);
+        this.languageTags = locales.stream().map(Locale::toLanguageTag).toList();
+        this.mappings = builder.mappings.toArray(new BiFunction[0]);
+        this.contentNegotiating = builder.mappings.stream().anyMatch(ContentNegotiatingExceptionMapping.class::isInstance);
+        this.selections = new BoundedCache<>(builder.cacheSize);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    @Override
+    public ErrorResponseWritingConsumer.ErrorResponse apply(RuntimeException exception, HttpServletRequest request) {
+        if (request == null) {
+            return mappings[0].apply(exception, null);
+        }
+        return select(request.getHeader(HttpHeaders.ACCEPT_LANGUAGE)).apply(exception, request);
+    }
+
+    public BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> select(String acceptLanguageHeader) {
+        if (acceptLanguageHeader == null || mappings.length == 1) {
+            return mappings[0];
+        }
+        Integer selection = selections.get(acceptLanguageHeader);
+        if (selection == null) {
+            selection = negotiate(acceptLanguageHeader);
+            selections.put(acceptLanguageHeader, selection);
+        }
+        return mappings[selection];
+    }
+
+    public List<Locale> getLocales() {
+        return locales;
+    }
+
+    public boolean isContentNegotiating() {
+        return contentNegotiating;
+    }
+
+    private int negotiate(String acceptLanguageHeader) {
+        List<Locale.LanguageRange> ranges;
+        try {
+            ranges = Locale.LanguageRange.parse(acceptLanguageHeader);
+        } catch (IllegalArgumentException e) {
+            return 0;
+        }
+
+        // ! RFC 4647 lookup: "de-AT" falls back to "de", nothing acceptable falls back to the first locale
+        String match = Locale.lookupTag(ranges, languageTags);
+        if (match == null) {
+            return 0;
+        }
+        for (int i = 0; i < languageTags.size(); i++) {
+            if (languageTags.get(i).equalsIgnoreCase(match)) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public static class Builder {
+
+        private final List<Locale> locales = new ArrayList<>();
+        private final List<BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse>> mappings = new ArrayList<>();
+        private int cacheSize = DEFAULT_CACHE_SIZE;
+
+        private Builder() {
+        }
+
+        // First registered locale is the default when Accept-Language is missing or nothing matches
+        public Builder locale(Locale locale, Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> mapping) {
+            return locale(locale, (exception, request) -> mapping.apply(exception));
+        }
+
+        public Builder locale(Locale locale,
+                              BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> mapping) {
+            this.locales.add(locale);
+            this.mappings.add(mapping);
+            return this;
+        }
+
+        public Builder cacheSize(int cacheSize) {
+            this.cacheSize = cacheSize;
+            return this;
+        }
+
+        public LocaleNegotiatingExceptionMapping build() {
+            if (mappings.isEmpty()) {
+                throw new IllegalStateException("At least one locale must be configured");
+            }
+            return new LocaleNegotiatingExceptionMapping(this);
+        }
+    }
+}
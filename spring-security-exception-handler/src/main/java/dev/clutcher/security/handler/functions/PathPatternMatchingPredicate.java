@@ -0,0 +1,66 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+
+public class PathPatternMatchingPredicate implements UrlPatternPredicate {
+
+    private static final String PARSED_PATH_ATTRIBUTE = PathPatternMatchingPredicate.class.getName() + ".PARSED_PATH";
+
+    private final List<String> urlPatterns;
+    private final PathPattern[] pathPatterns;
+
+    public PathPatternMatchingPredicate(List<String> urlPatterns) {
+        this.urlPatterns = List.copyOf(urlPatterns);
+        this.pathPatterns = urlPatterns.stream()
+                                       .map(PathPatternParser.defaultInstance::parse)
+                                       .toArray(PathPattern[]::new);
+    }
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        PathContainer path = getPathContainer(request);
+        for (PathPattern pathPattern : pathPatterns) {
+            if (pathPattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    @Override
+    public String getMatchingPattern(HttpServletRequest request) {
+        PathContainer path = getPathContainer(request);
+        for (PathPattern pathPattern : pathPatterns) {
+            if (pathPattern.matches(path)) {
+                return pathPattern.getPatternString();
+            }
+        }
+        return null;
+    }
+
+    private static PathContainer getPathContainer(HttpServletRequest request) {
+        // ! Parsed path is cached on the request, so several handlers evaluated for the same request share it. It is
+        // ! keyed by the URI, because forward and error dispatches reuse the request with a different one
+        String requestUri = request.getRequestURI();
+        if (request.getAttribute(PARSED_PATH_ATTRIBUTE) instanceof ParsedPath parsedPath && parsedPath.requestUri().equals(requestUri)) {
+            return parsedPath.path();
+        }
+        PathContainer path = PathContainer.parsePath(requestUri);
+        request.setAttribute(PARSED_PATH_ATTRIBUTE, new ParsedPath(requestUri, path));
+        return path;
+    }
+
+    private record ParsedPath(String requestUri, PathContainer path) {
+    }
+
+}
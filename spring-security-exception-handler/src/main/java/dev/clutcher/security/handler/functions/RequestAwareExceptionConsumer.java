@@ -0,0 +1,19 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.util.function.BiConsumer;
+
+@FunctionalInterface
+public interface RequestAwareExceptionConsumer extends BiConsumer<RuntimeException, HttpServletResponse> {
+
+    void accept(RuntimeException exception, HttpServletRequest request, HttpServletResponse response);
+
+    @Override
+    default void accept(RuntimeException exception, HttpServletResponse response) {
+        // ! Callers without a request get request-specific fields rendered empty
+        accept(exception, null, response);
+    }
+
+}
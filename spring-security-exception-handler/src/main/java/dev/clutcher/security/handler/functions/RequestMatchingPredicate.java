@@ -0,0 +1,196 @@
+package dev.clutcher.security.handler.functions;
+
+import dev.clutcher.security.support.BoundedCache;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.function.Predicate;
+
+public class RequestMatchingPredicate implements Predicate<HttpServletRequest> {
+
+    private static final int HEADER_DECISION_CACHE_SIZE = 256;
+
+    private final String[] methods;
+    private final UrlPatternPredicate urlPredicate;
+    private final List<MediaType> accept;
+    private final List<MediaType> contentTypes;
+    private final String[] requiredHeaders;
+
+    // ! Decisions are cached per raw header value, so media types are not parsed on every request
+    private final BoundedCache<String, Boolean> acceptDecisions = new BoundedCache<>(HEADER_DECISION_CACHE_SIZE);
+    private final BoundedCache<String, Boolean> contentTypeDecisions = new BoundedCache<>(HEADER_DECISION_CACHE_SIZE);
+
+    private RequestMatchingPredicate(Builder builder) {
+        this.methods = builder.methods.toArray(new String[0]);
+        this.urlPredicate = builder.urlPredicate;
+        this.accept = List.copyOf(builder.accept);
+        this.contentTypes = List.copyOf(builder.contentTypes);
+        this.requiredHeaders = builder.requiredHeaders.toArray(new String[0]);
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    // ! Conditions are evaluated cheap-first: method, then path, then headers
+    @Override
+    public boolean test(HttpServletRequest request) {
+        if (!matchesMethod(request)) {
+            return false;
+        }
+        if (urlPredicate != null && !urlPredicate.test(request)) {
+            return false;
+        }
+        return matchesHeaders(request);
+    }
+
+    // Evaluates everything except the URL predicate, used by dispatchers which already matched the path
+    public boolean testIgnoringPath(HttpServletRequest request) {
+        return matchesMethod(request) && matchesHeaders(request);
+    }
+
+    public UrlPatternPredicate getUrlPredicate() {
+        return urlPredicate;
+    }
+
+    private boolean matchesMethod(HttpServletRequest request) {
+        if (methods.length == 0) {
+            return true;
+        }
+        String method = request.getMethod();
+        for (String expectedMethod : methods) {
+            if (expectedMethod.equals(method)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // ! Headers are read per predicate on purpose. Only candidates left after the method and path checks get here,
+    // ! a header read is a lookup in the container's header map, and sharing the values across predicates would
+    // ! need a per-request attribute, which costs more than the reads it saves
+    private boolean matchesHeaders(HttpServletRequest request) {
+        if (!accept.isEmpty() && !matchesAccept(request.getHeader(HttpHeaders.ACCEPT))) {
+            return false;
+        }
+        if (!contentTypes.isEmpty() && !matchesContentType(request.getHeader(HttpHeaders.CONTENT_TYPE))) {
+            return false;
+        }
+        for (String requiredHeader : requiredHeaders) {
+            if (request.getHeader(requiredHeader) == null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private boolean matchesAccept(String acceptHeader) {
+        if (acceptHeader == null) {
+            // ! Missing Accept header means the client accepts any media type
+            return true;
+        }
+        Boolean decision = acceptDecisions.get(acceptHeader);
+        if (decision == null) {
+            decision = isCompatible(acceptHeader);
+            acceptDecisions.put(acceptHeader, decision);
+        }
+        return decision;
+    }
+
+    private boolean matchesContentType(String contentTypeHeader) {
+        if (contentTypeHeader == null) {
+            return false;
+        }
+        Boolean decision = contentTypeDecisions.get(contentTypeHeader);
+        if (decision == null) {
+            decision = isIncluded(contentTypeHeader);
+            contentTypeDecisions.put(contentTypeHeader, decision);
+        }
+        return decision;
+    }
+
+    private boolean isCompatible(String acceptHeader) {
+        try {
+            for (MediaType requestedType : MediaType.parseMediaTypes(acceptHeader)) {
+                for (MediaType acceptedType : accept) {
+                    if (acceptedType.isCompatibleWith(requestedType)) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    private boolean isIncluded(String contentTypeHeader) {
+        try {
+            MediaType requestType = MediaType.parseMediaType(contentTypeHeader);
+            for (MediaType contentType : contentTypes) {
+                if (contentType.includes(requestType)) {
+                    return true;
+                }
+            }
+            return false;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    public static class Builder {
+
+        private final List<String> methods = new ArrayList<>();
+        private UrlPatternPredicate urlPredicate;
+        private final List<MediaType> accept = new ArrayList<>();
+        private final List<MediaType> contentTypes = new ArrayList<>();
+        private final List<String> requiredHeaders = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        public Builder methods(String... methods) {
+            for (String method : methods) {
+                this.methods.add(method.toUpperCase(Locale.ROOT));
+            }
+            return this;
+        }
+
+        public Builder urls(List<String> urlPatterns) {
+            return urls(new UrlMatchingPredicate(urlPatterns));
+        }
+
+        public Builder urls(UrlPatternPredicate urlPredicate) {
+            this.urlPredicate = urlPredicate;
+            return this;
+        }
+
+        public Builder accept(String... mediaTypes) {
+            for (String mediaType : mediaTypes) {
+                this.accept.add(MediaType.parseMediaType(mediaType));
+            }
+            return this;
+        }
+
+        public Builder contentType(String... mediaTypes) {
+            for (String mediaType : mediaTypes) {
+                this.contentTypes.add(MediaType.parseMediaType(mediaType));
+            }
+            return this;
+        }
+
+        public Builder header(String... headerNames) {
+            this.requiredHeaders.addAll(List.of(headerNames));
+            return this;
+        }
+
+        public RequestMatchingPredicate build() {
+            return new RequestMatchingPredicate(this);
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+public final class ResponseHeaders {
+
+    public static final ResponseHeaders EMPTY = new ResponseHeaders(new String[0], new String[0]);
+
+    private static final String TOKEN_SYMBOLS = "!#$%&'*+-.^_`|~";
+    // ! Written by the consumer from the error response itself
+    private static final Set<String> RESERVED_NAMES = Set.of("content-type", "content-length");
+
+    private final String[] names;
+    private final String[] values;
+    private final boolean[] appends;
+
+    private ResponseHeaders(String[] names, String[] values) {
+        this.names = names;
+        this.values = values;
+        this.appends = new boolean[names.length];
+
+        // ! First value of a name replaces whatever upstream filters set, repeated names add further values
+        Set<String> seenNames = new HashSet<>();
+        for (int i = 0; i < names.length; i++) {
+            appends[i] = !seenNames.add(names[i].toLowerCase(Locale.ROOT));
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public static ResponseHeaders of(Map<String, String> headers) {
+        Builder builder = new Builder();
+        headers.forEach(builder::header);
+        return builder.build();
+    }
+
+    public void applyTo(HttpServletResponse response) {
+        for (int i = 0; i < names.length; i++) {
+            if (appends[i]) {
+                response.addHeader(names[i], values[i]);
+            } else {
+                response.setHeader(names[i], values[i]);
+            }
+        }
+    }
+
+    public void applyTo(HttpHeaders headers) {
+        for (int i = 0; i < names.length; i++) {
+            if (appends[i]) {
+                headers.add(names[i], values[i]);
+            } else {
+                headers.set(names[i], values[i]);
+            }
+        }
+    }
+
+    public void forEach(BiConsumer<String, String> action) {
+        for (int i = 0; i < names.length; i++) {
+            action.accept(names[i], values[i]);
+        }
+    }
+
+    public boolean isEmpty() {
+        return names.length == 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ResponseHeaders that)) {
+            return false;
+        }
+        return Arrays.equals(names, that.names) && Arrays.equals(values, that.values);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(names) + Arrays.hashCode(values);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder description = new StringBuilder("ResponseHeaders[");
+        for (int i = 0; i < names.length; i++) {
+            if (i > 0) {
+                description.append(", ");
+            }
+            description.append(names[i]).append('=').append(values[i]);
+        }
+        return description.append(']').toString();
+    }
+
+    private static void validateName(String name) {
+        if (name == null || name.isEmpty()) {
+            throw new IllegalArgumentException("Header name must not be empty");
+        }
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            boolean token = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')
+                    || TOKEN_SYMBOLS.indexOf(c) >= 0;
+            if (!token) {
+                throw new IllegalArgumentException("Invalid character in header name: " + name);
+            }
+        }
+        if (RESERVED_NAMES.contains(name.toLowerCase(Locale.ROOT))) {
+            throw new IllegalArgumentException("Header " + name + " is written from the error response and can't be static");
+        }
+    }
+
+    private static void validateValue(String name, String value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value of header " + name + " must not be null");
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            // ! Control characters, CR and LF in particular, would allow response splitting
+            if ((c < 0x20 && c != '\t') || c == 0x7f || c > 0xff) {
+                throw new IllegalArgumentException("Invalid character in value of header " + name);
+            }
+        }
+    }
+
+    public static class Builder {
+
+        private final List<String> names = new ArrayList<>();
+        private final List<String> values = new ArrayList<>();
+
+        private Builder() {
+        }
+
+        // Repeating a name adds another value of that header
+        public Builder header(String name, String value) {
+            validateName(name);
+            validateValue(name, value);
+            this.names.add(name);
+            this.values.add(value);
+            return this;
+        }
+
+        public Builder headers(ResponseHeaders headers) {
+            headers.forEach(this::header);
+            return this;
+        }
+
+        public boolean isEmpty() {
+            return names.isEmpty();
+        }
+
+        public ResponseHeaders build() {
+            if (names.isEmpty()) {
+                return EMPTY;
+            }
+            return new ResponseHeaders(names.toArray(new String[0]), values.toArray(new String[0]));
+        }
+    }
+}
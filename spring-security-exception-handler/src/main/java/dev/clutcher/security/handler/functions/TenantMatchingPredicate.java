@@ -0,0 +1,83 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.function.Predicate;
+
+public class TenantMatchingPredicate implements Predicate<HttpServletRequest> {
+
+    private final String tenantHeader;
+    private final Set<String> tenants;
+    private final Predicate<HttpServletRequest> delegate;
+
+    private TenantMatchingPredicate(String tenantHeader, Collection<String> tenants, Predicate<HttpServletRequest> delegate) {
+        if (tenants.isEmpty()) {
+            throw new IllegalArgumentException("At least one tenant must be configured");
+        }
+        this.tenantHeader = tenantHeader;
+        Set<String> normalizedTenants = new HashSet<>();
+        for (String tenant : tenants) {
+            normalizedTenants.add(normalize(tenantHeader, tenant));
+        }
+        this.tenants = Set.copyOf(normalizedTenants);
+        this.delegate = delegate;
+    }
+
+    // Matches requests by server name, taken from the Host header
+    public static TenantMatchingPredicate hosts(Collection<String> hosts, Predicate<HttpServletRequest> delegate) {
+        return new TenantMatchingPredicate(null, hosts, delegate);
+    }
+
+    // Matches requests by value of the given tenant header
+    public static TenantMatchingPredicate header(String tenantHeader, Collection<String> tenants,
+                                                 Predicate<HttpServletRequest> delegate) {
+        if (tenantHeader == null) {
+            throw new IllegalArgumentException("Tenant header must not be null");
+        }
+        return new TenantMatchingPredicate(tenantHeader, tenants, delegate);
+    }
+
+    public static String resolveTenant(HttpServletRequest request, String tenantHeader) {
+        if (tenantHeader != null) {
+            return request.getHeader(tenantHeader);
+        }
+        String serverName = request.getServerName();
+        return serverName == null ? null : normalize(null, serverName);
+    }
+
+    @Override
+    public boolean test(HttpServletRequest request) {
+        String tenant = resolveTenant(request, tenantHeader);
+        return tenant != null && tenants.contains(tenant) && delegate.test(request);
+    }
+
+    // Null means tenants are hosts
+    public String getTenantHeader() {
+        return tenantHeader;
+    }
+
+    public Set<String> getTenants() {
+        return tenants;
+    }
+
+    public Predicate<HttpServletRequest> getDelegate() {
+        return delegate;
+    }
+
+    private static String normalize(String tenantHeader, String tenant) {
+        if (tenantHeader != null) {
+            return tenant;
+        }
+        // ! Host names are case-insensitive, lower-case values are passed through without allocating
+        for (int i = 0; i < tenant.length(); i++) {
+            if (Character.isUpperCase(tenant.charAt(i))) {
+                return tenant.toLowerCase(Locale.ROOT);
+            }
+        }
+        return tenant;
+    }
+}
@@ -5,9 +5,8 @@ import org.springframework.util.AntPathMatcher;
 import org.springframework.util.PathMatcher;
 
 import java.util.List;
-import java.util.function.Predicate;
 
-public class UrlMatchingPredicate implements Predicate<HttpServletRequest> {
+public class UrlMatchingPredicate implements UrlPatternPredicate {
 
     private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
 
@@ -22,4 +21,20 @@ public class UrlMatchingPredicate implements Predicate<HttpServletRequest> {
         return urlPatterns.stream().anyMatch(pattern -> PATH_MATCHER.match(pattern, requestUri));
     }
 
+    @Override
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+    @Override
+    public String getMatchingPattern(HttpServletRequest request) {
+        String requestUri = request.getRequestURI();
+        for (String pattern : urlPatterns) {
+            if (PATH_MATCHER.match(pattern, requestUri)) {
+                return pattern;
+            }
+        }
+        return null;
+    }
+
 }
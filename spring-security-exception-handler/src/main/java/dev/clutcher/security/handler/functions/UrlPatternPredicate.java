@@ -0,0 +1,15 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public interface UrlPatternPredicate extends Predicate<HttpServletRequest> {
+
+    List<String> getUrlPatterns();
+
+    // Returns null when none of the patterns match the request
+    String getMatchingPattern(HttpServletRequest request);
+
+}
@@ -0,0 +1,57 @@
+package dev.clutcher.security.reactive.filter;
+
+import dev.clutcher.security.reactive.handler.ReactiveSpringSecurityExceptionHandler;
+import org.springframework.core.Ordered;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+public class SpringSecurityExceptionWebFilter implements WebFilter, Ordered {
+
+    private final ReactiveSpringSecurityExceptionHandler[] handlers;
+    private int order = Ordered.HIGHEST_PRECEDENCE;
+
+    public SpringSecurityExceptionWebFilter(List<ReactiveSpringSecurityExceptionHandler> handlers) {
+        List<ReactiveSpringSecurityExceptionHandler> sortedHandlers = new ArrayList<>(handlers);
+        sortedHandlers.sort(Comparator.comparingInt(Ordered::getOrder));
+        this.handlers = sortedHandlers.toArray(new ReactiveSpringSecurityExceptionHandler[0]);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        return chain.filter(exchange)
+                    .onErrorResume(SpringSecurityExceptionWebFilter::isSecurityException, ex -> handle((RuntimeException) ex, exchange));
+    }
+
+    @Override
+    public int getOrder() {
+        return order;
+    }
+
+    public void setOrder(int order) {
+        this.order = order;
+    }
+
+    private Mono<Void> handle(RuntimeException exception, ServerWebExchange exchange) {
+        if (exchange.getResponse().isCommitted()) {
+            return Mono.error(exception);
+        }
+        for (ReactiveSpringSecurityExceptionHandler handler : handlers) {
+            if (handler.canHandle(exchange)) {
+                return handler.handle(exception, exchange);
+            }
+        }
+        return Mono.error(exception);
+    }
+
+    private static boolean isSecurityException(Throwable throwable) {
+        return throwable instanceof AuthenticationException || throwable instanceof AccessDeniedException;
+    }
+}
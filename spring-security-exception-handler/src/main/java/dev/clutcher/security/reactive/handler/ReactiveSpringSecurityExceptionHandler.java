@@ -0,0 +1,17 @@
+package dev.clutcher.security.reactive.handler;
+
+import org.springframework.core.Ordered;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+public interface ReactiveSpringSecurityExceptionHandler extends Ordered {
+
+    boolean canHandle(ServerWebExchange exchange);
+
+    Mono<Void> handle(RuntimeException exception, ServerWebExchange exchange);
+
+    default String getName() {
+        return getClass().getSimpleName();
+    }
+
+}
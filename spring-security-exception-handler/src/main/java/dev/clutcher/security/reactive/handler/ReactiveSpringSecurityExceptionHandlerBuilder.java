@@ -0,0 +1,66 @@
+package dev.clutcher.security.reactive.handler;
+
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+import java.util.function.Predicate;
+
+public class ReactiveSpringSecurityExceptionHandlerBuilder {
+
+    private Predicate<ServerWebExchange> canHandlePredicate;
+    private BiFunction<RuntimeException, ServerWebExchange, Mono<Void>> handleFunction;
+    private int order = 0;
+    private String name = "custom";
+
+    private ReactiveSpringSecurityExceptionHandlerBuilder() {
+    }
+
+    public static ReactiveSpringSecurityExceptionHandlerBuilder builder() {
+        return new ReactiveSpringSecurityExceptionHandlerBuilder();
+    }
+
+    public ReactiveSpringSecurityExceptionHandlerBuilder canHandle(Predicate<ServerWebExchange> canHandlePredicate) {
+        this.canHandlePredicate = canHandlePredicate;
+        return this;
+    }
+
+    public ReactiveSpringSecurityExceptionHandlerBuilder handle(BiFunction<RuntimeException, ServerWebExchange, Mono<Void>> handleFunction) {
+        this.handleFunction = handleFunction;
+        return this;
+    }
+
+    public ReactiveSpringSecurityExceptionHandlerBuilder order(int order) {
+        this.order = order;
+        return this;
+    }
+
+    public ReactiveSpringSecurityExceptionHandlerBuilder name(String name) {
+        this.name = name;
+        return this;
+    }
+
+    public ReactiveSpringSecurityExceptionHandler build() {
+        return new ReactiveSpringSecurityExceptionHandler() {
+            @Override
+            public boolean canHandle(ServerWebExchange exchange) {
+                return canHandlePredicate.test(exchange);
+            }
+
+            @Override
+            public Mono<Void> handle(RuntimeException exception, ServerWebExchange exchange) {
+                return handleFunction.apply(exception, exchange);
+            }
+
+            @Override
+            public int getOrder() {
+                return order;
+            }
+
+            @Override
+            public String getName() {
+                return name;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package dev.clutcher.security.reactive.handler.functions;
+
+import dev.clutcher.security.handler.functions.ErrorBodyTemplate;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ResponseHeaders;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+import java.time.Instant;
+import java.util.Objects;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+public class ErrorResponseWritingFunction implements BiFunction<RuntimeException, ServerWebExchange, Mono<Void>> {
+
+    private final BiFunction<RuntimeException, ServerWebExchange, ErrorResponseWritingConsumer.ErrorResponse> exceptionMapper;
+    private final String traceIdHeader;
+    private final String vary;
+    private final ResponseHeaders headers;
+
+    public ErrorResponseWritingFunction(Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> exceptionMapper) {
+        this(exceptionMapper, ErrorResponseWritingConsumer.DEFAULT_TRACE_ID_HEADER);
+    }
+
+    public ErrorResponseWritingFunction(Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> exceptionMapper,
+                                        String traceIdHeader) {
+        this((exception, exchange) -> exceptionMapper.apply(exception), traceIdHeader);
+    }
+
+    public ErrorResponseWritingFunction(BiFunction<RuntimeException, ServerWebExchange, ErrorResponseWritingConsumer.ErrorResponse> exceptionMapper,
+                                        String traceIdHeader) {
+        this(exceptionMapper, traceIdHeader, ResponseHeaders.EMPTY);
+    }
+
+    private ErrorResponseWritingFunction(BiFunction<RuntimeException, ServerWebExchange, ErrorResponseWritingConsumer.ErrorResponse> exceptionMapper,
+                                         String traceIdHeader, ResponseHeaders headers) {
+        this.exceptionMapper = exceptionMapper;
+        this.traceIdHeader = traceIdHeader;
+        this.vary = exceptionMapper instanceof ServerWebExchangeNegotiatingExceptionMapping negotiatingMapping
+                ? negotiatingMapping.getVary()
+                : null;
+        this.headers = headers;
+    }
+
+    /**
+     * Returns a function which adds the given headers to every error response, before headers of the mapped
+     * {@link ErrorResponseWritingConsumer.ErrorResponse}.
+     */
+    public ErrorResponseWritingFunction withHeaders(ResponseHeaders headers) {
+        Objects.requireNonNull(headers, "headers");
+        return new ErrorResponseWritingFunction(exceptionMapper, traceIdHeader, headers);
+    }
+
+    public ResponseHeaders getHeaders() {
+        return headers;
+    }
+
+    @Override
+    public Mono<Void> apply(RuntimeException exception, ServerWebExchange exchange) {
+        ErrorResponseWritingConsumer.ErrorResponse errorResponse = exceptionMapper.apply(exception, exchange);
+        ServerHttpResponse response = exchange.getResponse();
+
+        response.setStatusCode(HttpStatusCode.valueOf(errorResponse.status()));
+        HttpHeaders responseHeaders = response.getHeaders();
+        headers.applyTo(responseHeaders);
+        errorResponse.headers().applyTo(responseHeaders);
+        if (vary != null) {
+            // ! Body depends on negotiated headers, so shared caches must not serve it to other clients
+            responseHeaders.add(HttpHeaders.VARY, vary);
+        }
+        responseHeaders.set(HttpHeaders.CONTENT_TYPE, errorResponse.contentType());
+
+        if (errorResponse.isTemplated()) {
+            // ! Rendered bytes live in a thread-local buffer, so they are copied before leaving this thread
+            byte[] renderedBody = errorResponse.template().render(new ErrorBodyTemplate.Context(
+                    exchange.getRequest().getHeaders().getFirst(traceIdHeader),
+                    exchange.getRequest().getPath().value(),
+                    Instant.now(),
+                    exception.getMessage()
+            )).toByteArray();
+            responseHeaders.setContentLength(renderedBody.length);
+            return response.writeWith(Mono.just(response.bufferFactory().wrap(renderedBody)));
+        }
+        responseHeaders.setContentLength(errorResponse.contentLength());
+
+        // ! Pre-encoded body is wrapped without copying
+        DataBuffer body = response.bufferFactory().wrap(errorResponse.asByteBuffer());
+        return response.writeWith(Mono.just(body));
+    }
+
+}
@@ -0,0 +1,62 @@
+package dev.clutcher.security.reactive.handler.functions;
+
+import dev.clutcher.security.handler.functions.ContentNegotiatingExceptionMapping;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.LocaleNegotiatingExceptionMapping;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.function.BiFunction;
+
+/**
+ * Applies a servlet mapping built from {@link LocaleNegotiatingExceptionMapping} and
+ * {@link ContentNegotiatingExceptionMapping} to an exchange, negotiating on its {@code Accept-Language} and
+ * {@code Accept} headers.
+ */
+public class ServerWebExchangeNegotiatingExceptionMapping
+        implements BiFunction<RuntimeException, ServerWebExchange, ErrorResponseWritingConsumer.ErrorResponse> {
+
+    private final BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> mapping;
+    private final String vary;
+
+    public ServerWebExchangeNegotiatingExceptionMapping(
+            BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> mapping) {
+        this.mapping = mapping;
+        this.vary = resolveVary(mapping);
+    }
+
+    @Override
+    public ErrorResponseWritingConsumer.ErrorResponse apply(RuntimeException exception, ServerWebExchange exchange) {
+        return apply(mapping, exception, exchange.getRequest().getHeaders());
+    }
+
+    // Request headers the selected response depends on, or null when nothing is negotiated
+    public String getVary() {
+        return vary;
+    }
+
+    private static ErrorResponseWritingConsumer.ErrorResponse apply(
+            BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> mapping,
+            RuntimeException exception, HttpHeaders headers) {
+        if (mapping instanceof LocaleNegotiatingExceptionMapping localeMapping) {
+            return apply(localeMapping.select(headers.getFirst(HttpHeaders.ACCEPT_LANGUAGE)), exception, headers);
+        }
+        if (mapping instanceof ContentNegotiatingExceptionMapping contentMapping) {
+            return contentMapping.select(headers.getFirst(HttpHeaders.ACCEPT)).apply(exception);
+        }
+        // ! Anything else doesn't negotiate, so it gets no servlet request
+        return mapping.apply(exception, null);
+    }
+
+    private static String resolveVary(
+            BiFunction<RuntimeException, HttpServletRequest, ErrorResponseWritingConsumer.ErrorResponse> mapping) {
+        if (mapping instanceof ContentNegotiatingExceptionMapping) {
+            return "Accept";
+        }
+        if (mapping instanceof LocaleNegotiatingExceptionMapping localeMapping) {
+            return localeMapping.isContentNegotiating() ? "Accept-Language, Accept" : "Accept-Language";
+        }
+        return null;
+    }
+}
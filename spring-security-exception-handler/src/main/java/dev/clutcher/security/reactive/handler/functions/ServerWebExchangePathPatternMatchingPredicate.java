@@ -0,0 +1,39 @@
+package dev.clutcher.security.reactive.handler.functions;
+
+import org.springframework.http.server.PathContainer;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public class ServerWebExchangePathPatternMatchingPredicate implements Predicate<ServerWebExchange> {
+
+    private final List<String> urlPatterns;
+    private final PathPattern[] pathPatterns;
+
+    public ServerWebExchangePathPatternMatchingPredicate(List<String> urlPatterns) {
+        this.urlPatterns = List.copyOf(urlPatterns);
+        this.pathPatterns = urlPatterns.stream()
+                                       .map(PathPatternParser.defaultInstance::parse)
+                                       .toArray(PathPattern[]::new);
+    }
+
+    @Override
+    public boolean test(ServerWebExchange exchange) {
+        // ! Request path is already parsed by the reactive stack, so no parsing happens here
+        PathContainer path = exchange.getRequest().getPath();
+        for (PathPattern pathPattern : pathPatterns) {
+            if (pathPattern.matches(path)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+}
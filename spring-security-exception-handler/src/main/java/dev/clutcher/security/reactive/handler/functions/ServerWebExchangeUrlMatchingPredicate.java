@@ -0,0 +1,36 @@
+package dev.clutcher.security.reactive.handler.functions;
+
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+import org.springframework.web.server.ServerWebExchange;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+public class ServerWebExchangeUrlMatchingPredicate implements Predicate<ServerWebExchange> {
+
+    // ! Same matcher as the servlet UrlMatchingPredicate, so one pattern set matches the same paths on both stacks
+    private static final PathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final List<String> urlPatterns;
+
+    public ServerWebExchangeUrlMatchingPredicate(List<String> urlPatterns) {
+        this.urlPatterns = List.copyOf(urlPatterns);
+    }
+
+    @Override
+    public boolean test(ServerWebExchange exchange) {
+        String requestPath = exchange.getRequest().getPath().value();
+        for (String pattern : urlPatterns) {
+            if (PATH_MATCHER.match(pattern, requestPath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public List<String> getUrlPatterns() {
+        return urlPatterns;
+    }
+
+}
@@ -0,0 +1,171 @@
+package dev.clutcher.security.support;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+
+public class BoundedCache<K, V> {
+
+    private static final int EVICTION_SAMPLE_SIZE = 8;
+    private static final int MAX_FREQUENCY = 15;
+    private static final int ADMISSION_FREQUENCY = 2;
+
+    private final int maximumSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries;
+    private final CacheStatistics statistics;
+
+    // ! Keys by slot, so eviction can sample uniformly at random instead of walking the map from its first bucket.
+    // ! Guarded by this, like every write, reads stay lock-free
+    private final Object[] keys;
+    private int filledSlots;
+
+    // ! Advanced by hits, not by misses, so attacker generated keys can't age out hot entries. Entries halve their hits
+    // ! once per epoch they were not used in. Counters are racy like the sketch, lost updates only delay aging
+    private volatile int epoch;
+    private int hitsSinceAging;
+
+    // ! Frequency sketch is updated without synchronization, lost updates only make admission slightly less precise
+    private final int[] frequencies;
+    private final int frequencyMask;
+    private final int resetThreshold;
+    private int frequencyUpdates;
+
+    public BoundedCache(int maximumSize) {
+        this(maximumSize, new CacheStatistics());
+    }
+
+    public BoundedCache(int maximumSize, CacheStatistics statistics) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum cache size must be positive");
+        }
+        this.maximumSize = maximumSize;
+        this.entries = new ConcurrentHashMap<>(Math.min(maximumSize, 1024));
+        this.statistics = statistics;
+        this.keys = new Object[maximumSize];
+
+        int frequencyTableSize = Integer.highestOneBit(Math.max(16, maximumSize * 4) - 1) << 1;
+        this.frequencies = new int[frequencyTableSize];
+        this.frequencyMask = frequencyTableSize - 1;
+        this.resetThreshold = maximumSize * 10;
+    }
+
+    public V get(K key) {
+        Entry<V> entry = entries.get(key);
+        if (entry == null) {
+            statistics.recordMiss();
+            return null;
+        }
+        entry.recordHit(epoch);
+        if (++hitsSinceAging >= resetThreshold) {
+            hitsSinceAging = 0;
+            epoch++;
+        }
+        statistics.recordHit();
+        return entry.value;
+    }
+
+    public void put(K key, V value) {
+        if (entries.size() >= maximumSize && !entries.containsKey(key)) {
+            // ! TinyLFU style admission, keys seen only once (e.g. attacker generated random paths) never evict hot entries
+            int frequency = incrementFrequency(key);
+            if (frequency < ADMISSION_FREQUENCY) {
+                statistics.recordRejection();
+                return;
+            }
+            replaceLeastUsed(key, value, frequency);
+            return;
+        }
+        insert(key, value);
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public CacheStatistics getStatistics() {
+        return statistics;
+    }
+
+    private int incrementFrequency(K key) {
+        int index = spread(key.hashCode()) & frequencyMask;
+        int frequency = Math.min(frequencies[index] + 1, MAX_FREQUENCY);
+        frequencies[index] = frequency;
+
+        if (++frequencyUpdates >= resetThreshold) {
+            // ! Periodic aging, so keys which were popular long ago don't stay admitted forever
+            frequencyUpdates = 0;
+            for (int i = 0; i < frequencies.length; i++) {
+                frequencies[i] >>>= 1;
+            }
+        }
+        return frequency;
+    }
+
+    private synchronized void insert(K key, V value) {
+        Entry<V> existing = entries.get(key);
+        if (existing != null) {
+            entries.put(key, new Entry<>(value, existing.slot, 0, epoch));
+        } else if (filledSlots < maximumSize) {
+            keys[filledSlots] = key;
+            entries.put(key, new Entry<>(value, filledSlots++, 0, epoch));
+        } else {
+            replaceLeastUsed(key, value, ADMISSION_FREQUENCY);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized void replaceLeastUsed(K key, V value, int frequency) {
+        if (entries.containsKey(key)) {
+            return;
+        }
+        int currentEpoch = epoch;
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int victimSlot = -1;
+        long victimHits = Long.MAX_VALUE;
+        for (int i = 0; i < EVICTION_SAMPLE_SIZE; i++) {
+            int slot = random.nextInt(filledSlots);
+            long hits = entries.get((K) keys[slot]).agedHits(currentEpoch);
+            if (hits < victimHits) {
+                victimSlot = slot;
+                victimHits = hits;
+            }
+        }
+        entries.remove((K) keys[victimSlot]);
+        statistics.recordEviction();
+
+        // ! Admitted keys start with their sketch frequency, so they are not the next victim before their first hit
+        keys[victimSlot] = key;
+        entries.put(key, new Entry<>(value, victimSlot, frequency, currentEpoch));
+    }
+
+    private static int spread(int hash) {
+        hash ^= hash >>> 16;
+        hash *= 0x45d9f3b;
+        return hash ^ (hash >>> 16);
+    }
+
+    private static final class Entry<V> {
+
+        private final V value;
+        private final int slot;
+        // ! Racy hit counter, used only as eviction hint
+        private long hits;
+        private int epoch;
+
+        private Entry(V value, int slot, long hits, int epoch) {
+            this.value = value;
+            this.slot = slot;
+            this.hits = hits;
+            this.epoch = epoch;
+        }
+
+        private void recordHit(int currentEpoch) {
+            hits = agedHits(currentEpoch) + 1;
+            epoch = currentEpoch;
+        }
+
+        private long agedHits(int currentEpoch) {
+            int missedEpochs = currentEpoch - epoch;
+            return missedEpochs >= Long.SIZE ? 0 : hits >>> missedEpochs;
+        }
+    }
+}
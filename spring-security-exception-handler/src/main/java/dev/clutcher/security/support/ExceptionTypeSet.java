@@ -0,0 +1,47 @@
+package dev.clutcher.security.support;
+
+import java.util.Collection;
+import java.util.List;
+
+public final class ExceptionTypeSet {
+
+    private final List<Class<? extends Throwable>> types;
+
+    // ! Assignability is resolved once per thrown class, later lookups are a single ClassValue read
+    private final ClassValue<Boolean> matches = new ClassValue<>() {
+        @Override
+        protected Boolean computeValue(Class<?> type) {
+            for (Class<? extends Throwable> candidate : types) {
+                if (candidate.isAssignableFrom(type)) {
+                    return Boolean.TRUE;
+                }
+            }
+            return Boolean.FALSE;
+        }
+    };
+
+    private ExceptionTypeSet(Collection<? extends Class<? extends Throwable>> types) {
+        this.types = List.copyOf(types);
+    }
+
+    @SafeVarargs
+    public static ExceptionTypeSet of(Class<? extends Throwable>... types) {
+        return new ExceptionTypeSet(List.of(types));
+    }
+
+    public static ExceptionTypeSet of(Collection<? extends Class<? extends Throwable>> types) {
+        return new ExceptionTypeSet(types);
+    }
+
+    public boolean contains(Throwable exception) {
+        return exception != null && !types.isEmpty() && matches.get(exception.getClass());
+    }
+
+    public boolean isEmpty() {
+        return types.isEmpty();
+    }
+
+    public List<Class<? extends Throwable>> getTypes() {
+        return types;
+    }
+}
@@ -0,0 +1,102 @@
+package dev.clutcher.security.support;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.LongSupplier;
+
+public class WindowedCountMinSketch {
+
+    private static final int DEPTH = 4;
+    private static final int[] SEEDS = {0x9E3779B9, 0x85EBCA6B, 0xC2B2AE35, 0x27D4EB2F};
+    private static final int WINDOWS = 2;
+
+    private final int width;
+    private final int widthMask;
+    private final long windowNanos;
+    private final LongSupplier nanoClock;
+
+    // ! Two rotating sketches (current and previous window), counters are independent atomics so writers never contend on a lock
+    private final AtomicIntegerArray counters;
+    private final AtomicLongArray windowIds = new AtomicLongArray(WINDOWS);
+
+    public WindowedCountMinSketch(int width, long windowNanos) {
+        this(width, windowNanos, System::nanoTime);
+    }
+
+    public WindowedCountMinSketch(int width, long windowNanos, LongSupplier nanoClock) {
+        if (width <= 0) {
+            throw new IllegalArgumentException("Width must be positive");
+        }
+        if (windowNanos <= 0) {
+            throw new IllegalArgumentException("Window must be positive");
+        }
+        this.width = width == 1 ? 2 : Integer.highestOneBit(width - 1) << 1;
+        this.widthMask = this.width - 1;
+        this.windowNanos = windowNanos;
+        this.nanoClock = nanoClock;
+        this.counters = new AtomicIntegerArray(WINDOWS * DEPTH * this.width);
+        for (int i = 0; i < WINDOWS; i++) {
+            windowIds.set(i, Long.MIN_VALUE);
+        }
+    }
+
+    public void increment(Object key) {
+        long now = nanoClock.getAsLong();
+        long window = Math.floorDiv(now, windowNanos);
+        int offset = activate(window);
+        int hash = key.hashCode();
+        for (int row = 0; row < DEPTH; row++) {
+            int index = offset + row * width + index(hash, row);
+            if (counters.get(index) < Integer.MAX_VALUE) {
+                counters.incrementAndGet(index);
+            }
+        }
+    }
+
+    // Sliding window estimate: current window plus the linearly decayed remainder of the previous one
+    public long estimate(Object key) {
+        long now = nanoClock.getAsLong();
+        long window = Math.floorDiv(now, windowNanos);
+        int hash = key.hashCode();
+
+        long current = estimate(window, hash);
+        long previous = estimate(window - 1, hash);
+        if (previous == 0) {
+            return current;
+        }
+        double previousWeight = 1.0 - (double) Math.floorMod(now, windowNanos) / windowNanos;
+        return current + (long) (previous * previousWeight);
+    }
+
+    private long estimate(long window, int hash) {
+        int slot = (int) Math.floorMod(window, WINDOWS);
+        if (windowIds.get(slot) != window) {
+            return 0;
+        }
+        int offset = slot * DEPTH * width;
+        int minimum = Integer.MAX_VALUE;
+        for (int row = 0; row < DEPTH; row++) {
+            minimum = Math.min(minimum, counters.get(offset + row * width + index(hash, row)));
+        }
+        return minimum;
+    }
+
+    private int activate(long window) {
+        int slot = (int) Math.floorMod(window, WINDOWS);
+        long current = windowIds.get(slot);
+        if (current < window && windowIds.compareAndSet(slot, current, window)) {
+            // ! Clearing races with concurrent increments of the new window, which only makes counts slightly lower
+            int offset = slot * DEPTH * width;
+            for (int i = offset; i < offset + DEPTH * width; i++) {
+                counters.set(i, 0);
+            }
+        }
+        return slot * DEPTH * width;
+    }
+
+    private int index(int hash, int row) {
+        int h = hash * SEEDS[row];
+        h ^= h >>> 16;
+        return h & widthMask;
+    }
+}
@@ -0,0 +1,41 @@
+package dev.clutcher.security.throttle;
+
+import dev.clutcher.security.filter.SpringSecurityExceptionResponder;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Answers clients over the failure threshold of {@link RepeatOffenderGuard} before authentication runs.
+ * Has to be placed in front of the authentication filters, the starter puts it before {@code CsrfFilter}.
+ */
+public class RepeatOffenderFilter extends OncePerRequestFilter {
+
+    private final RepeatOffenderGuard guard;
+    private final SpringSecurityExceptionResponder responder;
+
+    public RepeatOffenderFilter(RepeatOffenderGuard guard, SpringSecurityExceptionResponder responder) {
+        this.guard = guard;
+        this.responder = responder;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        // ! Known offenders are answered before the authentication filters, so password hashing or token verification is skipped
+        if (guard.isBlocked(request) && responder.tryHandle(guard.getRejection(), request, response)) {
+            return;
+        }
+
+        guard.bind(request);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            guard.unbind();
+        }
+    }
+}
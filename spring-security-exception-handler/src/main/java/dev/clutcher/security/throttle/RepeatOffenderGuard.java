@@ -0,0 +1,120 @@
+package dev.clutcher.security.throttle;
+
+import dev.clutcher.security.support.WindowedCountMinSketch;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.context.ApplicationListener;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+/**
+ * Counts authentication failures per client and tells {@link RepeatOffenderFilter} which clients to reject.
+ * Failures are taken from {@link AuthenticationFailureBadCredentialsEvent}s published while the filter processes
+ * a request, so the guard has to be registered as application listener, e.g. by exposing it as a bean.
+ */
+public class RepeatOffenderGuard implements ApplicationListener<AuthenticationFailureBadCredentialsEvent> {
+
+    public static final int DEFAULT_THRESHOLD = 20;
+    public static final Duration DEFAULT_WINDOW = Duration.ofMinutes(1);
+    public static final int DEFAULT_SKETCH_WIDTH = 4096;
+
+    private final long threshold;
+    private final Function<HttpServletRequest, String> clientKeyResolver;
+    private final WindowedCountMinSketch failures;
+    private final RuntimeException rejection;
+    // ! Events carry no request, authentication runs on the request thread so the filter binds it here
+    private final ThreadLocal<HttpServletRequest> currentRequest = new ThreadLocal<>();
+
+    private RepeatOffenderGuard(Builder builder) {
+        this.threshold = builder.threshold;
+        this.clientKeyResolver = builder.clientKeyResolver;
+        this.failures = new WindowedCountMinSketch(builder.sketchWidth, builder.window.toNanos());
+        this.rejection = builder.rejection;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public boolean isBlocked(HttpServletRequest request) {
+        String clientKey = clientKeyResolver.apply(request);
+        return clientKey != null && failures.estimate(clientKey) >= threshold;
+    }
+
+    public void recordFailure(HttpServletRequest request) {
+        String clientKey = clientKeyResolver.apply(request);
+        if (clientKey != null) {
+            failures.increment(clientKey);
+        }
+    }
+
+    @Override
+    public void onApplicationEvent(AuthenticationFailureBadCredentialsEvent event) {
+        HttpServletRequest request = currentRequest.get();
+        if (request != null) {
+            recordFailure(request);
+        }
+    }
+
+    void bind(HttpServletRequest request) {
+        currentRequest.set(request);
+    }
+
+    void unbind() {
+        currentRequest.remove();
+    }
+
+    // Exception passed to the handler for early rejections, handler mapping decides between 401 and 429
+    public RuntimeException getRejection() {
+        return rejection;
+    }
+
+    public static class Builder {
+
+        private long threshold = DEFAULT_THRESHOLD;
+        private Duration window = DEFAULT_WINDOW;
+        private int sketchWidth = DEFAULT_SKETCH_WIDTH;
+        private Function<HttpServletRequest, String> clientKeyResolver = HttpServletRequest::getRemoteAddr;
+        private RuntimeException rejection = TooManyAuthenticationFailuresException.INSTANCE;
+
+        private Builder() {
+        }
+
+        public Builder threshold(long threshold) {
+            this.threshold = threshold;
+            return this;
+        }
+
+        public Builder window(Duration window) {
+            this.window = window;
+            return this;
+        }
+
+        public Builder sketchWidth(int sketchWidth) {
+            this.sketchWidth = sketchWidth;
+            return this;
+        }
+
+        public Builder clientKeyHeader(String headerName) {
+            return clientKeyResolver(request -> request.getHeader(headerName));
+        }
+
+        public Builder clientKeyResolver(Function<HttpServletRequest, String> clientKeyResolver) {
+            this.clientKeyResolver = clientKeyResolver;
+            return this;
+        }
+
+        public Builder rejection(RuntimeException rejection) {
+            this.rejection = rejection;
+            return this;
+        }
+
+        public RepeatOffenderGuard build() {
+            if (threshold <= 0) {
+                throw new IllegalArgumentException("Threshold must be positive");
+            }
+            return new RepeatOffenderGuard(this);
+        }
+    }
+}
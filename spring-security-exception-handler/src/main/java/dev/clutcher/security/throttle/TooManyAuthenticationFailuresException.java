@@ -0,0 +1,19 @@
+package dev.clutcher.security.throttle;
+
+import org.springframework.security.core.AuthenticationException;
+
+public class TooManyAuthenticationFailuresException extends AuthenticationException {
+
+    // ! Shared instance, early rejections must not pay for exception allocation or stack walking
+    public static final TooManyAuthenticationFailuresException INSTANCE =
+            new TooManyAuthenticationFailuresException("Too many authentication failures");
+
+    public TooManyAuthenticationFailuresException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
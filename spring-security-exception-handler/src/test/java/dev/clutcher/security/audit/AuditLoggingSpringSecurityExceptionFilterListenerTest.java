@@ -0,0 +1,117 @@
+package dev.clutcher.security.audit;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import org.apache.commons.logging.Log;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AuditLoggingSpringSecurityExceptionFilterListenerTest {
+
+    @Test
+    void shouldLogHandledExceptionsWithinRateLimit() throws Exception {
+        // Given
+        Log log = mock(Log.class);
+        when(log.isInfoEnabled()).thenReturn(true);
+        SpringSecurityExceptionHandler handler = handler("default");
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login\r\nforged");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setStatus(401);
+
+        try (AuditLoggingSpringSecurityExceptionFilterListener listener = AuditLoggingSpringSecurityExceptionFilterListener.builder()
+                .handler("default", new AuditPolicy(1.0, 0.001, 2))
+                .log(log)
+                .build()) {
+
+            // When
+            for (int i = 0; i < 5; i++) {
+                listener.onHandled(handler, new BadCredentialsException("Bad credentials"), request, response, 0);
+            }
+            listener.onHandled(handler("graphql"), new BadCredentialsException("Bad credentials"), request, response, 0);
+
+            // Then
+            verify(log, timeout(2000).times(2)).info(argThat(message -> message.toString().contains("uri=/login__forged")
+                    && message.toString().contains("status=401")));
+            assertEquals(3, listener.getRateLimitedCount());
+            assertEquals(3, listener.getDroppedCount());
+        }
+    }
+
+    @Test
+    void shouldDropEventsNotSampled() {
+        // Given
+        Log log = mock(Log.class);
+        try (AuditLoggingSpringSecurityExceptionFilterListener listener = AuditLoggingSpringSecurityExceptionFilterListener.builder()
+                .handler("default", new AuditPolicy(0.0, 100, 100))
+                .log(log)
+                .build()) {
+
+            // When
+            listener.onHandled(handler("default"), new BadCredentialsException("x"),
+                               new MockHttpServletRequest(), new MockHttpServletResponse(), 0);
+
+            // Then
+            assertEquals(1, listener.getSampledOutCount());
+        }
+    }
+
+    @Test
+    void shouldStartWorkerWithFirstEventAndWaitWithoutTimeoutWhenIdle() throws Exception {
+        // Given
+        Log log = mock(Log.class);
+        when(log.isInfoEnabled()).thenReturn(true);
+        AuditLoggingSpringSecurityExceptionFilterListener listener = AuditLoggingSpringSecurityExceptionFilterListener.builder()
+                .handler("default", new AuditPolicy(1.0, 100, 100))
+                .log(log)
+                .build();
+        assertNull(auditThread());
+
+        // When
+        listener.onHandled(handler("default"), new BadCredentialsException("x"),
+                           new MockHttpServletRequest(), new MockHttpServletResponse(), 0);
+
+        // Then
+        verify(log, timeout(2000)).info(any());
+        Thread worker = auditThread();
+        assertNotNull(worker);
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(2);
+        while (worker.getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertEquals(Thread.State.WAITING, worker.getState());
+
+        listener.close();
+        assertFalse(worker.isAlive());
+    }
+
+    private static Thread auditThread() {
+        return Thread.getAllStackTraces().keySet().stream()
+                     .filter(thread -> thread.getName().equals("security-exception-audit") && thread.isAlive())
+                     .findFirst()
+                     .orElse(null);
+    }
+
+    private static SpringSecurityExceptionHandler handler(String name) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(request -> true)
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .name(name)
+                                                    .build();
+    }
+}
@@ -0,0 +1,132 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingHandlerDispatcherTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Mock
+    private Predicate<HttpServletRequest> customPredicate;
+
+    @Test
+    void shouldServeRepeatedUriFromCache() {
+        // Given
+        SpringSecurityExceptionHandler graphqlHandler = urlHandler(0, "/graphql");
+        CachingHandlerDispatcherFactory factory = HandlerDispatcherFactory.cached(HandlerDispatcherFactory.linear(), 100);
+        HandlerDispatcher dispatcher = factory.create(List.of(urlHandler(100, "/**"), graphqlHandler));
+        when(request.getRequestURI()).thenReturn("/graphql");
+
+        // When
+        SpringSecurityExceptionHandler first = dispatcher.resolve(request);
+        SpringSecurityExceptionHandler second = dispatcher.resolve(request);
+
+        // Then
+        assertSame(graphqlHandler, first);
+        assertSame(graphqlHandler, second);
+        assertEquals(1, factory.getStatistics().getHitCount());
+        assertEquals(1, factory.getStatistics().getMissCount());
+    }
+
+    @Test
+    void shouldCacheMissingHandler() {
+        // Given
+        CachingHandlerDispatcherFactory factory = HandlerDispatcherFactory.cached(HandlerDispatcherFactory.linear(), 100);
+        HandlerDispatcher dispatcher = factory.create(List.of(urlHandler(0, "/api/**")));
+        when(request.getRequestURI()).thenReturn("/public");
+
+        // When
+        SpringSecurityExceptionHandler first = dispatcher.resolve(request);
+        SpringSecurityExceptionHandler second = dispatcher.resolve(request);
+
+        // Then
+        assertNull(first);
+        assertNull(second);
+        assertEquals(1, factory.getStatistics().getHitCount());
+    }
+
+    @Test
+    void shouldEvaluateCustomPredicatesOnEveryLookup() {
+        // Given
+        SpringSecurityExceptionHandler customHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                             .canHandle(customPredicate)
+                                                                                             .handle((exception, response) -> {
+                                                                                             })
+                                                                                             .order(0)
+                                                                                             .build();
+        SpringSecurityExceptionHandler defaultHandler = urlHandler(100, "/**");
+        HandlerDispatcher dispatcher = HandlerDispatcherFactory.cached(HandlerDispatcherFactory.linear(), 100)
+                                                               .create(List.of(defaultHandler, customHandler));
+        when(request.getRequestURI()).thenReturn("/api/users");
+        when(customPredicate.test(request)).thenReturn(true, false);
+
+        // When
+        SpringSecurityExceptionHandler first = dispatcher.resolve(request);
+        SpringSecurityExceptionHandler second = dispatcher.resolve(request);
+
+        // Then
+        assertSame(customHandler, first);
+        assertSame(defaultHandler, second);
+        verify(customPredicate, times(2)).test(request);
+    }
+
+    @Test
+    void shouldKeyCacheByTenantWhenWrappingTenantRouting() {
+        // Given
+        SpringSecurityExceptionHandler acmeHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                          .canHandle(TenantMatchingPredicate.header("X-Tenant", List.of("acme"),
+                                                                                                  new UrlMatchingPredicate(List.of("/**"))))
+                                                                                          .handle((exception, response) -> {
+                                                                                          })
+                                                                                          .order(0)
+                                                                                          .build();
+        SpringSecurityExceptionHandler defaultHandler = urlHandler(100, "/**");
+        CachingHandlerDispatcherFactory factory = HandlerDispatcherFactory.cached(
+                HandlerDispatcherFactory.tenantRouting("X-Tenant", HandlerDispatcherFactory.linear()), 100);
+        HandlerDispatcher dispatcher = factory.create(List.of(acmeHandler, defaultHandler));
+        MockHttpServletRequest acmeRequest = new MockHttpServletRequest("GET", "/api/users");
+        acmeRequest.addHeader("X-Tenant", "acme");
+        MockHttpServletRequest globexRequest = new MockHttpServletRequest("GET", "/api/users");
+        globexRequest.addHeader("X-Tenant", "globex");
+
+        // When
+        List<SpringSecurityExceptionHandler> results = List.of(
+                dispatcher.resolve(acmeRequest), dispatcher.resolve(globexRequest),
+                dispatcher.resolve(acmeRequest), dispatcher.resolve(globexRequest)
+        );
+
+        // Then
+        assertEquals(List.of(acmeHandler, defaultHandler, acmeHandler, defaultHandler), results);
+        assertEquals(2, factory.getStatistics().getHitCount());
+    }
+
+    private static SpringSecurityExceptionHandler urlHandler(int order, String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .order(order)
+                                                    .build();
+    }
+}
@@ -0,0 +1,169 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DispatchPlanTest {
+
+    @Test
+    void shouldReportHandlerShadowedByLowerOrderCatchAll() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                urlHandler("graphql", 100, "/graphql"),
+                urlHandler("default", 0, "/**")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertEquals(1, problems.size());
+        assertEquals(DispatchPlan.Severity.ERROR, problems.get(0).severity());
+        assertEquals("graphql", problems.get(0).handlerName());
+    }
+
+    @Test
+    void shouldReportPartialShadowingAndDuplicateOrders() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                urlHandler("api", 0, "/api/**"),
+                urlHandler("users", 10, "/api/users", "/users/**"),
+                urlHandler("admin", 10, "/users/admin")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertEquals(3, problems.size());
+        assertTrue(problems.get(0).message().contains("/api/users (by api)"));
+        assertTrue(problems.get(1).message().contains("same order 10 as admin"));
+        assertEquals(DispatchPlan.Severity.ERROR, problems.get(2).severity());
+        assertEquals("admin", problems.get(2).handlerName());
+    }
+
+    @Test
+    void shouldNotReportPatternsOnlyMatchingEachOtherAsLiteralPaths() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                urlHandler("item", 0, "/api/{id}"),
+                urlHandler("api", 10, "/api/**"),
+                urlHandler("file", 20, "/files/?"),
+                urlHandler("files", 30, "/files/*"),
+                urlHandler("asset", 40, "/static/*"),
+                urlHandler("assets", 50, "/static/{*path}")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertTrue(problems.isEmpty());
+    }
+
+    @Test
+    void shouldReportShadowingByPathVariablesAndWildcards() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                urlHandler("item", 0, "/api/{id}"),
+                urlHandler("json", 10, "/api/*.json"),
+                urlHandler("report", 20, "/reports/{name}.csv", "/reports/{*path}")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertEquals(1, problems.size());
+        assertEquals(DispatchPlan.Severity.ERROR, problems.get(0).severity());
+        assertEquals("json", problems.get(0).handlerName());
+    }
+
+    @Test
+    void shouldReportSameOrderHandlersWithIntersectingWildcards() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                urlHandler("json", 10, "/api/*.json"),
+                urlHandler("data", 10, "/api/data.*"),
+                urlHandler("xml", 10, "/export/*.xml")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertEquals(1, problems.size());
+        assertEquals(DispatchPlan.Severity.WARNING, problems.get(0).severity());
+        assertTrue(problems.get(0).message().contains("same order 10 as data"));
+    }
+
+    @Test
+    void shouldNotTreatConditionalHandlersAsShadowing() {
+        // Given
+        SpringSecurityExceptionHandler postOnlyHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                               .canHandle(RequestMatchingPredicate.builder()
+                                                                                                                                  .methods("POST")
+                                                                                                                                  .urls(List.of("/**"))
+                                                                                                                                  .build())
+                                                                                               .handle((e, r) -> {
+                                                                                               })
+                                                                                               .name("post")
+                                                                                               .order(0)
+                                                                                               .build();
+        DispatchPlan plan = DispatchPlan.compile(List.of(postOnlyHandler, urlHandler("default", 100, "/**")));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertTrue(problems.isEmpty());
+        assertTrue(plan.describe().contains("post [/**] [request conditions]"));
+    }
+
+    @Test
+    void shouldNotReportHandlersOfDisjointTenants() {
+        // Given
+        DispatchPlan plan = DispatchPlan.compile(List.of(
+                tenantHandler("acme", 0, "acme.example.com"),
+                tenantHandler("globex", 0, "globex.example.com"),
+                urlHandler("default", 100, "/**")
+        ));
+
+        // When
+        List<DispatchPlan.Problem> problems = plan.validate();
+
+        // Then
+        assertTrue(problems.isEmpty());
+        assertTrue(plan.describe().contains("acme [/**] [tenants [acme.example.com]]"));
+    }
+
+    private static SpringSecurityExceptionHandler tenantHandler(String name, int order, String host) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(TenantMatchingPredicate.hosts(List.of(host),
+                                                            new UrlMatchingPredicate(List.of("/**"))))
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .order(order)
+                                                    .name(name)
+                                                    .build();
+    }
+
+    private static SpringSecurityExceptionHandler urlHandler(String name, int order, String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .order(order)
+                                                    .name(name)
+                                                    .build();
+    }
+}
@@ -0,0 +1,87 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.TenantMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class TenantRoutingHandlerDispatcherTest {
+
+    @Test
+    void shouldResolveHandlerOfRequestHost() {
+        // Given
+        SpringSecurityExceptionHandler acmeHandler = handler(10, TenantMatchingPredicate.hosts(
+                List.of("acme.example.com"), new UrlMatchingPredicate(List.of("/**"))));
+        SpringSecurityExceptionHandler globexHandler = handler(10, TenantMatchingPredicate.hosts(
+                List.of("globex.example.com"), new UrlMatchingPredicate(List.of("/**"))));
+        SpringSecurityExceptionHandler defaultHandler = handler(100, new UrlMatchingPredicate(List.of("/**")));
+        HandlerDispatcher dispatcher = HandlerDispatcherFactory.hostRouting(HandlerDispatcherFactory.urlIndex())
+                                                               .create(List.of(defaultHandler, acmeHandler, globexHandler));
+
+        // When
+        SpringSecurityExceptionHandler result = dispatcher.resolve(request("GLOBEX.example.com", "/api/users"));
+
+        // Then
+        assertSame(globexHandler, result);
+    }
+
+    @Test
+    void shouldFallBackToSharedHandlersForUnknownTenant() {
+        // Given
+        SpringSecurityExceptionHandler acmeHandler = handler(10, TenantMatchingPredicate.header(
+                "X-Tenant", List.of("acme"), new UrlMatchingPredicate(List.of("/**"))));
+        SpringSecurityExceptionHandler defaultHandler = handler(100, new UrlMatchingPredicate(List.of("/**")));
+        HandlerDispatcher dispatcher = HandlerDispatcherFactory.tenantRouting("X-Tenant", HandlerDispatcherFactory.linear())
+                                                               .create(List.of(acmeHandler, defaultHandler));
+        MockHttpServletRequest request = request("acme.example.com", "/api/users");
+        request.addHeader("X-Tenant", "globex");
+
+        // When
+        SpringSecurityExceptionHandler result = dispatcher.resolve(request);
+
+        // Then
+        assertSame(defaultHandler, result);
+    }
+
+    @Test
+    void shouldPreferSharedHandlerWithLowerOrderInsideTenantGroup() {
+        // Given
+        SpringSecurityExceptionHandler graphqlHandler = handler(0, new UrlMatchingPredicate(List.of("/graphql")));
+        SpringSecurityExceptionHandler acmeHandler = handler(10, TenantMatchingPredicate.hosts(
+                List.of("acme.example.com"), new UrlMatchingPredicate(List.of("/api/**"))));
+        HandlerDispatcher dispatcher = HandlerDispatcherFactory.hostRouting(HandlerDispatcherFactory.urlIndex())
+                                                               .create(List.of(acmeHandler, graphqlHandler));
+
+        // When
+        SpringSecurityExceptionHandler graphqlResult = dispatcher.resolve(request("acme.example.com", "/graphql"));
+        SpringSecurityExceptionHandler unmatchedResult = dispatcher.resolve(request("acme.example.com", "/public"));
+
+        // Then
+        assertSame(graphqlHandler, graphqlResult);
+        assertNull(unmatchedResult);
+    }
+
+    private static MockHttpServletRequest request(String host, String requestUri) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", requestUri);
+        request.setServerName(host);
+        return request;
+    }
+
+    private static SpringSecurityExceptionHandler handler(int order, Predicate<HttpServletRequest> predicate) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(predicate)
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .order(order)
+                                                    .build();
+    }
+}
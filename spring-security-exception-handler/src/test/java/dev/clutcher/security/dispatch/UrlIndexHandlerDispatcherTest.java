@@ -0,0 +1,137 @@
+package dev.clutcher.security.dispatch;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.RequestMatchingPredicate;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UrlIndexHandlerDispatcherTest {
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    void shouldResolveHandlerWithLowestOrder() {
+        // Given
+        SpringSecurityExceptionHandler defaultHandler = urlHandler(100, "/**");
+        SpringSecurityExceptionHandler graphqlHandler = urlHandler(0, "/graphql");
+        UrlIndexHandlerDispatcher dispatcher = new UrlIndexHandlerDispatcher(List.of(defaultHandler, graphqlHandler));
+        when(request.getRequestURI()).thenReturn("/graphql");
+
+        // When
+        SpringSecurityExceptionHandler result = dispatcher.resolve(request);
+
+        // Then
+        assertSame(graphqlHandler, result);
+    }
+
+    @Test
+    void shouldReturnNullWhenNoHandlerMatches() {
+        // Given
+        UrlIndexHandlerDispatcher dispatcher = new UrlIndexHandlerDispatcher(
+                List.of(urlHandler(0, "/api/**"), urlHandler(1, "/graphql"))
+        );
+        when(request.getRequestURI()).thenReturn("/public/index.html");
+
+        // When
+        SpringSecurityExceptionHandler result = dispatcher.resolve(request);
+
+        // Then
+        assertNull(result);
+    }
+
+    @Test
+    void shouldEvaluateCustomPredicatesInOrder() {
+        // Given
+        SpringSecurityExceptionHandler customHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                             .canHandle(r -> true)
+                                                                                             .handle((e, r) -> {
+                                                                                             })
+                                                                                             .order(10)
+                                                                                             .build();
+        SpringSecurityExceptionHandler apiHandler = urlHandler(20, "/api/**");
+        UrlIndexHandlerDispatcher dispatcher = new UrlIndexHandlerDispatcher(List.of(apiHandler, customHandler));
+        when(request.getRequestURI()).thenReturn("/api/users");
+
+        // When
+        SpringSecurityExceptionHandler result = dispatcher.resolve(request);
+
+        // Then
+        assertSame(customHandler, result);
+    }
+
+    @Test
+    void shouldFallThroughWhenIndexedRequestConditionDoesNotMatch() {
+        // Given
+        SpringSecurityExceptionHandler postHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                           .canHandle(RequestMatchingPredicate.builder()
+                                                                                                                              .methods("POST")
+                                                                                                                              .urls(List.of("/graphql"))
+                                                                                                                              .build())
+                                                                                           .handle((e, r) -> {
+                                                                                           })
+                                                                                           .order(0)
+                                                                                           .build();
+        SpringSecurityExceptionHandler defaultHandler = urlHandler(100, "/**");
+        UrlIndexHandlerDispatcher dispatcher = new UrlIndexHandlerDispatcher(List.of(defaultHandler, postHandler));
+
+        // When
+        SpringSecurityExceptionHandler postResult = dispatcher.resolve(new MockHttpServletRequest("POST", "/graphql"));
+        SpringSecurityExceptionHandler getResult = dispatcher.resolve(new MockHttpServletRequest("GET", "/graphql"));
+
+        // Then
+        assertSame(postHandler, postResult);
+        assertSame(defaultHandler, getResult);
+    }
+
+    @Test
+    void shouldResolveSameHandlersAsLinearScan() {
+        // Given
+        List<SpringSecurityExceptionHandler> handlers = List.of(
+                urlHandler(0, "/graphql", "/graphiql"),
+                urlHandler(1, "/api/users/*/avatar"),
+                urlHandler(2, "/api/users/**"),
+                urlHandler(3, "/api/*.json", "/api/{version}/orders"),
+                urlHandler(4, "/static/", "api/relative/**"),
+                urlHandler(5, "/**")
+        );
+        LinearHandlerDispatcher linearDispatcher = new LinearHandlerDispatcher(handlers);
+        UrlIndexHandlerDispatcher indexDispatcher = new UrlIndexHandlerDispatcher(handlers);
+        List<String> requestUris = List.of(
+                "", "/", "//", "/graphql", "/graphql/", "/graphiql", "/api/users", "/api/users/1/avatar",
+                "/api/users/1/avatar/big", "/api//users/1", "/api/users.json", "/api/v1/orders", "/api/v1/orders/1",
+                "/static", "/static/", "api/relative/x", "api/relative", "relative", "/unknown/path"
+        );
+
+        for (String requestUri : requestUris) {
+            // When
+            lenient().when(request.getRequestURI()).thenReturn(requestUri);
+
+            // Then
+            assertSame(linearDispatcher.resolve(request), indexDispatcher.resolve(request), requestUri);
+        }
+    }
+
+    private static SpringSecurityExceptionHandler urlHandler(int order, String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle((exception, response) -> {
+                                                    })
+                                                    .order(order)
+                                                    .build();
+    }
+}
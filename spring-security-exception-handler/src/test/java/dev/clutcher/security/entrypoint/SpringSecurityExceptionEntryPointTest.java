@@ -0,0 +1,75 @@
+package dev.clutcher.security.entrypoint;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.web.authentication.HttpStatusEntryPoint;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpringSecurityExceptionEntryPointTest {
+
+    @Test
+    void shouldCommenceWithMatchingHandler() throws Exception {
+        // Given
+        SpringSecurityExceptionEntryPoint entryPoint = new SpringSecurityExceptionEntryPoint(List.of(jsonHandler("/api/**")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        entryPoint.commence(request, response, new BadCredentialsException("Bad credentials"));
+
+        // Then
+        assertEquals(401, response.getStatus());
+        assertEquals("{\"code\":\"AUTHENTICATION_ERROR\",\"message\":\"Authentication required\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldHandleAccessDeniedWithMatchingHandler() throws Exception {
+        // Given
+        SpringSecurityExceptionEntryPoint entryPoint = new SpringSecurityExceptionEntryPoint(List.of(jsonHandler("/api/**")));
+        MockHttpServletRequest request = new MockHttpServletRequest("DELETE", "/api/users/1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        entryPoint.handle(request, response, new AccessDeniedException("Access denied"));
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldDelegateToFallbackWhenNoHandlerMatches() throws Exception {
+        // Given
+        SpringSecurityExceptionEntryPoint entryPoint = new SpringSecurityExceptionEntryPoint(List.of(jsonHandler("/api/**")));
+        entryPoint.setFallbackEntryPoint(new HttpStatusEntryPoint(HttpStatus.NOT_IMPLEMENTED));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        entryPoint.commence(request, response, new BadCredentialsException("Bad credentials"));
+
+        // Then
+        assertEquals(501, response.getStatus());
+        assertEquals("", response.getContentAsString());
+    }
+
+    private static SpringSecurityExceptionHandler jsonHandler(String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle(new ErrorResponseWritingConsumer(ExceptionMappingFunctions.jsonBodyExceptionMapping()))
+                                                    .build();
+    }
+
+}
@@ -0,0 +1,259 @@
+package dev.clutcher.security.filter;
+
+import dev.clutcher.security.handler.SpringSecurityExceptionHandler;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.RequestDispatcher;
+import jakarta.servlet.ServletException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class SpringSecurityExceptionFilterTest {
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Mock
+    private SpringSecurityExceptionFilterListener listener;
+
+    @Test
+    void shouldWriteResponseOfMatchingHandler() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/api/**")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new AccessDeniedException("Access denied")).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldSelectHandlerByOrderRegardlessOfInjectionOrder() throws Exception {
+        // Given
+        SpringSecurityExceptionHandler defaultHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                             .canHandle(new UrlMatchingPredicate(List.of("/**")))
+                                                                                             .handle(new ErrorResponseWritingConsumer(ExceptionMappingFunctions.jsonBodyExceptionMapping()))
+                                                                                             .order(100)
+                                                                                             .build();
+        SpringSecurityExceptionHandler graphqlHandler = SpringSecurityExceptionHandlerBuilder.builder()
+                                                                                             .canHandle(new UrlMatchingPredicate(List.of("/graphql")))
+                                                                                             .handle(new ErrorResponseWritingConsumer(ExceptionMappingFunctions.graphqlJsonBodyExceptionMapping()))
+                                                                                             .order(0)
+                                                                                             .build();
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(defaultHandler, graphqlHandler));
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new AccessDeniedException("Access denied")).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(
+                "{\"errors\":[{\"message\":\"Access denied\",\"extensions\":{\"errorType\":\"ACCESS_DENIED\",\"classification\":\"FORBIDDEN\",\"code\":\"ACCESS_DENIED\"}}]}",
+                response.getContentAsString()
+        );
+    }
+
+    @Test
+    void shouldNotifyListenersAboutHandledException() throws Exception {
+        // Given
+        SpringSecurityExceptionHandler handler = jsonHandler("/api/**");
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(handler));
+        filter.setListeners(List.of(listener));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AccessDeniedException exception = new AccessDeniedException("Access denied");
+        doThrow(exception).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        verify(listener).onHandled(same(handler), same(exception), same(request), same(response), anyLong());
+    }
+
+    @Test
+    void shouldRethrowAndNotifyListenersWhenNoHandlerMatches() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/api/**")));
+        filter.setListeners(List.of(listener));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/public");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        AccessDeniedException exception = new AccessDeniedException("Access denied");
+        doThrow(exception).when(filterChain).doFilter(request, response);
+
+        // When
+        AccessDeniedException thrown = assertThrows(
+                AccessDeniedException.class,
+                () -> filter.doFilter(request, response, filterChain)
+        );
+
+        // Then
+        assertSame(exception, thrown);
+        verify(listener).onUnhandled(same(exception), eq(request));
+    }
+
+    @Test
+    void shouldHandleExceptionOnAsyncDispatchWhenEnabled() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/api/**")));
+        filter.setAsyncDispatchEnabled(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new AccessDeniedException("Access denied")).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldSkipAsyncDispatchByDefault() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/api/**")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/reports");
+        request.setDispatcherType(DispatcherType.ASYNC);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new AccessDeniedException("Access denied")).when(filterChain).doFilter(request, response);
+
+        // When / Then
+        assertThrows(AccessDeniedException.class, () -> filter.doFilter(request, response, filterChain));
+    }
+
+    @Test
+    void shouldAnswerErrorDispatchOfSecurityExceptionWithoutInvokingChain() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/api/**")));
+        filter.setErrorDispatchEnabled(true);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/error");
+        request.setDispatcherType(DispatcherType.ERROR);
+        request.setAttribute(RequestDispatcher.ERROR_REQUEST_URI, "/api/x");
+        request.setAttribute(RequestDispatcher.ERROR_EXCEPTION, new ServletException(new AccessDeniedException("Access denied")));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        verify(filterChain, never()).doFilter(any(), any());
+    }
+
+    @Test
+    void shouldRethrowWhenResponseIsAlreadyCommitted() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/**")));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/stream");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setCommitted(true);
+        doThrow(new AccessDeniedException("Access denied")).when(filterChain).doFilter(request, response);
+
+        // When / Then
+        assertThrows(AccessDeniedException.class, () -> filter.doFilter(request, response, filterChain));
+        assertEquals("", response.getContentAsString());
+    }
+
+    @Test
+    void shouldHandleConfiguredAdditionalExceptionTypes() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/**")));
+        filter.setAdditionalExceptionTypes(List.of(IllegalStateException.class));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        doThrow(new IllegalStateException("Rate limit exceeded")).when(filterChain).doFilter(request, response);
+
+        // When
+        filter.doFilter(request, response, filterChain);
+
+        // Then
+        assertEquals(500, response.getStatus());
+        assertEquals("{\"code\":\"INTERNAL_ERROR\",\"message\":\"Internal server error\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldRethrowNotConfiguredExceptionTypesUntouched() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/**")));
+        filter.setAdditionalExceptionTypes(List.of(IllegalStateException.class));
+        filter.setListeners(List.of(listener));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IllegalArgumentException exception = new IllegalArgumentException("Unexpected");
+        doThrow(exception).when(filterChain).doFilter(request, response);
+
+        // When
+        IllegalArgumentException thrown = assertThrows(
+                IllegalArgumentException.class,
+                () -> filter.doFilter(request, response, filterChain)
+        );
+
+        // Then
+        assertSame(exception, thrown);
+        assertEquals("", response.getContentAsString());
+        verify(listener, never()).onUnhandled(any(), any());
+    }
+
+    @Test
+    void shouldLetRuntimeExceptionsPassWithoutAdditionalExceptionTypes() throws Exception {
+        // Given
+        SpringSecurityExceptionFilter filter = new SpringSecurityExceptionFilter(List.of(jsonHandler("/**")));
+        filter.setListeners(List.of(listener));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        IllegalStateException exception = new IllegalStateException("Unexpected");
+        doThrow(exception).when(filterChain).doFilter(request, response);
+
+        // When
+        IllegalStateException thrown = assertThrows(
+                IllegalStateException.class,
+                () -> filter.doFilter(request, response, filterChain)
+        );
+
+        // Then
+        assertSame(exception, thrown);
+        assertEquals("", response.getContentAsString());
+        verify(listener, never()).onUnhandled(any(), any());
+    }
+
+    private static SpringSecurityExceptionHandler jsonHandler(String... urlPatterns) {
+        return SpringSecurityExceptionHandlerBuilder.builder()
+                                                    .canHandle(new UrlMatchingPredicate(List.of(urlPatterns)))
+                                                    .handle(new ErrorResponseWritingConsumer(ExceptionMappingFunctions.jsonBodyExceptionMapping()))
+                                                    .build();
+    }
+
+}
@@ -0,0 +1,78 @@
+package dev.clutcher.security.handler.functions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ContentNegotiatingExceptionMappingTest {
+
+    private final ContentNegotiatingExceptionMapping mapping = ContentNegotiatingExceptionMapping.builder()
+            .encoder("application/json", ExceptionMappingFunctions.jsonBodyExceptionMapping())
+            .encoder("application/problem+json", ExceptionMappingFunctions.problemJsonExceptionMapping())
+            .encoder("text/plain", ExceptionMappingFunctions.plainTextExceptionMapping())
+            .build();
+
+    @Test
+    void shouldUseFirstEncoderWhenAcceptIsMissing() {
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse response = mapping.apply(
+                new AccessDeniedException("x"), new MockHttpServletRequest("GET", "/api")
+        );
+
+        // Then
+        assertEquals("application/json;charset=UTF-8", response.contentType());
+    }
+
+    @Test
+    void shouldSelectEncoderByQualityAndSpecificity() {
+        // When / Then
+        assertSame(ExceptionMappingFunctions.problemJsonExceptionMapping(), mapping.select("application/problem+json"));
+        assertSame(ExceptionMappingFunctions.plainTextExceptionMapping(), mapping.select("application/json;q=0.5, text/plain"));
+        assertSame(ExceptionMappingFunctions.plainTextExceptionMapping(), mapping.select("*/*;q=0.8, text/*"));
+        assertSame(ExceptionMappingFunctions.jsonBodyExceptionMapping(), mapping.select("*/*"));
+    }
+
+    @Test
+    void shouldNotSelectEncoderExcludedWithZeroQuality() {
+        // Given
+        ContentNegotiatingExceptionMapping problemFirst = ContentNegotiatingExceptionMapping.builder()
+                .encoder("application/problem+json", ExceptionMappingFunctions.problemJsonExceptionMapping())
+                .encoder("application/json", ExceptionMappingFunctions.jsonBodyExceptionMapping())
+                .build();
+
+        // When / Then
+        assertSame(ExceptionMappingFunctions.jsonBodyExceptionMapping(), problemFirst.select("*/*, application/problem+json;q=0"));
+        assertSame(ExceptionMappingFunctions.problemJsonExceptionMapping(), mapping.select("*/*, application/json;q=0"));
+        assertSame(ExceptionMappingFunctions.plainTextExceptionMapping(), mapping.select("*/*;q=0, text/plain"));
+    }
+
+    @Test
+    void shouldFallbackToFirstEncoderWhenNothingIsAcceptable() {
+        // When / Then
+        assertSame(ExceptionMappingFunctions.jsonBodyExceptionMapping(), mapping.select("image/png"));
+        assertSame(ExceptionMappingFunctions.jsonBodyExceptionMapping(), mapping.select("not a media type"));
+        assertSame(ExceptionMappingFunctions.jsonBodyExceptionMapping(), mapping.select("text/plain;q=0"));
+    }
+
+    @Test
+    void shouldWriteNegotiatedBodyWithVaryHeader() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(mapping);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+        request.addHeader("Accept", "text/plain");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("x"), request, response);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals("text/plain;charset=UTF-8", response.getContentType());
+        assertEquals("Accept", response.getHeader("Vary"));
+        assertEquals("Access denied", response.getContentAsString());
+    }
+}
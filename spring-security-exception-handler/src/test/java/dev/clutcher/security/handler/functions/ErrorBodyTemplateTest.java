@@ -0,0 +1,99 @@
+package dev.clutcher.security.handler.functions;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorBodyTemplateTest {
+
+    @Test
+    void shouldRenderBoundAndRequestVariables() {
+        // Given
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile(
+                "{\"code\":\"${code}\",\"traceId\":\"${traceId}\",\"path\":\"${path}\",\"timestamp\":\"${timestamp}\",\"detail\":\"${exceptionMessage}\"}"
+        ).bind("code", "ACCESS_DENIED");
+        ErrorBodyTemplate.Context context = new ErrorBodyTemplate.Context(
+                "abc-123", "/api/users", Instant.parse("2024-01-01T00:00:00Z"), "Denied"
+        );
+
+        // When
+        String result = template.render(context).asString();
+
+        // Then
+        assertEquals(
+                "{\"code\":\"ACCESS_DENIED\",\"traceId\":\"abc-123\",\"path\":\"/api/users\",\"timestamp\":\"2024-01-01T00:00:00Z\",\"detail\":\"Denied\"}",
+                result
+        );
+    }
+
+    @Test
+    void shouldEscapeSlotValues() {
+        // Given
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile("{\"message\":\"${exceptionMessage}\"}");
+        ErrorBodyTemplate.Context context = new ErrorBodyTemplate.Context(
+                null, null, null, "Bad \"token\"\n\\ \u00e9\u20ac\ud83d\ude00"
+        );
+
+        // When
+        byte[] result = template.render(context).toByteArray();
+
+        // Then
+        assertEquals(
+                "{\"message\":\"Bad \\\"token\\\"\\n\\\\ \u00e9\u20ac\ud83d\ude00\"}",
+                new String(result, StandardCharsets.UTF_8)
+        );
+    }
+
+    @Test
+    void shouldRenderMissingRequestValuesAsEmpty() {
+        // Given
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile("{\"traceId\":\"${traceId}\"}");
+
+        // When
+        String result = template.render(new ErrorBodyTemplate.Context(null, null, null, null)).asString();
+
+        // Then
+        assertEquals("{\"traceId\":\"\"}", result);
+    }
+
+    @Test
+    void shouldReportUnboundVariables() {
+        // Given
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile("{\"code\":\"${code}\",\"message\":\"${message}\",\"path\":\"${path}\"}")
+                                                      .bind("code", "X");
+
+        // When
+        Set<String> result = template.getUnboundNames();
+
+        // Then
+        assertEquals(Set.of("message"), result);
+        assertThrows(IllegalArgumentException.class, () -> new ErrorResponseWritingConsumer.ErrorResponse(401, template));
+    }
+
+    @Test
+    void shouldRejectUnclosedVariable() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ErrorBodyTemplate.compile("{\"code\":\"${code\"}"));
+    }
+
+    @Test
+    void shouldTreatTemplateWithoutRequestVariablesAsConstant() {
+        // Given
+        ErrorBodyTemplate template = ErrorBodyTemplate.compile("{\"code\":\"${code}\"}").bind("code", "X");
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse result = new ErrorResponseWritingConsumer.ErrorResponse(401, template);
+
+        // Then
+        assertTrue(template.isConstant());
+        assertEquals("{\"code\":\"X\"}", result.body());
+        assertFalse(result.isTemplated());
+    }
+}
@@ -0,0 +1,184 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ErrorResponseWritingConsumerTest {
+
+    @Test
+    void shouldWritePreEncodedBodyWithContentLength() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                ExceptionMappingFunctions.jsonBodyExceptionMapping()
+        );
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), response);
+
+        // Then
+        String expectedBody = "{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}";
+        assertEquals(403, response.getStatus());
+        assertEquals("application/json;charset=UTF-8", response.getContentType());
+        assertEquals(expectedBody.getBytes(StandardCharsets.UTF_8).length, response.getContentLength());
+        assertEquals(expectedBody, response.getContentAsString());
+    }
+
+    @Test
+    void shouldApplyHandlerHeadersBeforeExceptionHeaders() {
+        // Given
+        ErrorResponseWritingConsumer.ErrorResponse unauthorized = new ErrorResponseWritingConsumer.ErrorResponse(401, "{}")
+                .withHeaders(ResponseHeaders.builder()
+                                            .header("WWW-Authenticate", "Bearer")
+                                            .header("Cache-Control", "no-store, private")
+                                            .build());
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(exception -> unauthorized)
+                .withHeaders(ResponseHeaders.builder()
+                                            .header("Cache-Control", "no-store")
+                                            .header("Access-Control-Allow-Origin", "https://app.example.com")
+                                            .build());
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader("Cache-Control", "no-cache");
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), response);
+
+        // Then
+        assertEquals("Bearer", response.getHeader("WWW-Authenticate"));
+        assertEquals(List.of("no-store, private"), response.getHeaders("Cache-Control"));
+        assertEquals("https://app.example.com", response.getHeader("Access-Control-Allow-Origin"));
+    }
+
+    @Test
+    void shouldFallbackToWriterWhenWriterWasAlreadyUsed() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                exception -> new ErrorResponseWritingConsumer.ErrorResponse(401, "{\"message\":\"Zugriff verweigert\"}")
+        );
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.getWriter();
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), response);
+
+        // Then
+        assertEquals(401, response.getStatus());
+        assertEquals("{\"message\":\"Zugriff verweigert\"}", response.getContentAsString());
+    }
+
+    @Test
+    void shouldWriteTemplatedBodyWithRequestFields() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                ExceptionMappingFunctions.templatedGraphqlJsonBodyExceptionMapping(
+                        "{\"code\":\"${code}\",\"path\":\"${path}\",\"traceId\":\"${traceId}\"}"
+                )
+        );
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("X-Request-Id", "trace-1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), request, response);
+
+        // Then
+        String expectedBody = "{\"code\":\"ACCESS_DENIED\",\"path\":\"/graphql\",\"traceId\":\"trace-1\"}";
+        assertEquals(403, response.getStatus());
+        assertEquals(expectedBody.length(), response.getContentLength());
+        assertEquals(expectedBody, response.getContentAsString());
+    }
+
+    @Test
+    void shouldWriteBodyThroughWriteListenerWhenAsyncWriteIsEnabled() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                ExceptionMappingFunctions.jsonBodyExceptionMapping()
+        ).withAsyncWrite(Duration.ofSeconds(5));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        request.setAsyncSupported(true);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        NonBlockingOutputStream outputStream = new NonBlockingOutputStream();
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), request, new HttpServletResponseWrapper(response) {
+            @Override
+            public ServletOutputStream getOutputStream() {
+                return outputStream;
+            }
+        });
+
+        // Then
+        assertTrue(request.isAsyncStarted());
+        assertEquals(403, response.getStatus());
+        assertEquals(0, outputStream.content.size());
+
+        outputStream.writeListener.onWritePossible();
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", outputStream.content.toString(StandardCharsets.UTF_8));
+        assertTrue(request.isAsyncStarted());
+
+        outputStream.ready = true;
+        outputStream.writeListener.onWritePossible();
+        assertFalse(request.isAsyncStarted());
+    }
+
+    @Test
+    void shouldWriteBlockingWhenAsyncIsNotSupported() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                ExceptionMappingFunctions.jsonBodyExceptionMapping()
+        ).withAsyncWrite(Duration.ofSeconds(5));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("Access denied"), request, response);
+
+        // Then
+        assertFalse(request.isAsyncStarted());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", response.getContentAsString());
+    }
+
+    private static final class NonBlockingOutputStream extends ServletOutputStream {
+
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream();
+        private WriteListener writeListener;
+        private boolean ready = true;
+
+        @Override
+        public boolean isReady() {
+            return ready;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+            this.writeListener = writeListener;
+        }
+
+        @Override
+        public void write(int b) {
+            content.write(b);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            // ! Simulates a slow client, the container buffer stays full until the next onWritePossible
+            content.write(b, off, len);
+            ready = false;
+        }
+    }
+
+}
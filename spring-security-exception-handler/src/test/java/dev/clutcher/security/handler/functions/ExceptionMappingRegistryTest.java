@@ -0,0 +1,84 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.CredentialsExpiredException;
+import org.springframework.security.authentication.InsufficientAuthenticationException;
+import org.springframework.security.web.csrf.CsrfException;
+import org.springframework.security.web.csrf.DefaultCsrfToken;
+import org.springframework.security.web.csrf.InvalidCsrfTokenException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExceptionMappingRegistryTest {
+
+    @Test
+    void shouldResolveNearestRegisteredSupertype() {
+        // Given
+        ErrorResponseWritingConsumer.ErrorResponse badCredentials = new ErrorResponseWritingConsumer.ErrorResponse(
+                HttpServletResponse.SC_UNAUTHORIZED,
+                ExceptionMappingFunctions.jsonBody("BAD_CREDENTIALS", "Bad credentials")
+        );
+        ErrorResponseWritingConsumer.ErrorResponse csrf = new ErrorResponseWritingConsumer.ErrorResponse(
+                HttpServletResponse.SC_FORBIDDEN,
+                ExceptionMappingFunctions.jsonBody("CSRF_ERROR", "Invalid CSRF token")
+        );
+        ExceptionMappingRegistry registry = ExceptionMappingFunctions.jsonBodyExceptionMappingBuilder()
+                                                                     .register(BadCredentialsException.class, badCredentials)
+                                                                     .register(CsrfException.class, csrf)
+                                                                     .build();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse badCredentialsResponse = registry.apply(new BadCredentialsException("Invalid"));
+        ErrorResponseWritingConsumer.ErrorResponse csrfResponse = registry.apply(
+                new InvalidCsrfTokenException(new DefaultCsrfToken("X-CSRF-TOKEN", "_csrf", "expected"), "actual")
+        );
+        ErrorResponseWritingConsumer.ErrorResponse accessDeniedResponse = registry.apply(new AccessDeniedException("Denied"));
+
+        // Then
+        assertSame(badCredentials, badCredentialsResponse);
+        assertSame(csrf, csrfResponse);
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, accessDeniedResponse.status());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", accessDeniedResponse.body());
+    }
+
+    @Test
+    void shouldReturnSharedResponseInstances() {
+        // Given
+        ExceptionMappingRegistry registry = ExceptionMappingFunctions.jsonBodyExceptionMappingBuilder().build();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse first = registry.apply(new CredentialsExpiredException("Expired"));
+        ErrorResponseWritingConsumer.ErrorResponse second = registry.apply(new InsufficientAuthenticationException("Missing"));
+
+        // Then
+        assertSame(first, second);
+    }
+
+    @Test
+    void shouldUseFallbackForUnregisteredException() {
+        // Given
+        ErrorResponseWritingConsumer.ErrorResponse fallback = new ErrorResponseWritingConsumer.ErrorResponse(500, "{}");
+        ExceptionMappingRegistry registry = ExceptionMappingRegistry.builder().fallback(fallback).build();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse response = registry.apply(new IllegalStateException("Some error"));
+
+        // Then
+        assertSame(fallback, response);
+    }
+
+    @Test
+    void shouldRequireFallback() {
+        // Given
+        ExceptionMappingRegistry.Builder builder = ExceptionMappingRegistry.builder();
+
+        // When / Then
+        assertThrows(IllegalStateException.class, builder::build);
+    }
+
+}
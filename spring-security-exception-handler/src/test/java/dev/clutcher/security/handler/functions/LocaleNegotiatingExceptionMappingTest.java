@@ -0,0 +1,87 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocaleNegotiatingExceptionMappingTest {
+
+    private final LocaleNegotiatingExceptionMapping mapping = LocaleNegotiatingExceptionMapping.builder()
+            .locale(Locale.ENGLISH, ExceptionMappingFunctions.jsonBodyExceptionMapping())
+            .locale(Locale.GERMAN, ExceptionMappingFunctions.jsonBodyExceptionMappingBuilder()
+                                                            .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                                                                    HttpServletResponse.SC_FORBIDDEN,
+                                                                    ExceptionMappingFunctions.jsonBody("ACCESS_DENIED", "Zugriff verweigert")
+                                                            ))
+                                                            .build())
+            .build();
+
+    @Test
+    void shouldSelectMappingByAcceptLanguage() {
+        // When / Then
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Zugriff verweigert\"}", body("de"));
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Zugriff verweigert\"}", body("de-AT,de;q=0.9,en;q=0.8"));
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", body("fr, en;q=0.5"));
+    }
+
+    @Test
+    void shouldFallbackToFirstLocaleWhenNothingMatches() {
+        // When / Then
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", body(null));
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", body("fr"));
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", body("not;a;language;range"));
+    }
+
+    @Test
+    void shouldSelectLocaleWhichDoesNotSurviveLanguageTagRoundTrip() {
+        // Given
+        LocaleNegotiatingExceptionMapping nynorskMapping = LocaleNegotiatingExceptionMapping.builder()
+                .locale(Locale.ENGLISH, ExceptionMappingFunctions.jsonBodyExceptionMapping())
+                .locale(new Locale("no", "NO", "NY"), ExceptionMappingFunctions.jsonBodyExceptionMappingBuilder()
+                                                                              .register(AccessDeniedException.class, new ErrorResponseWritingConsumer.ErrorResponse(
+                                                                                      HttpServletResponse.SC_FORBIDDEN,
+                                                                                      ExceptionMappingFunctions.jsonBody("ACCESS_DENIED", "Tilgang nekta")
+                                                                              ))
+                                                                              .build())
+                .build();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse nynorsk = nynorskMapping.select("nn-NO").apply(new AccessDeniedException("x"), null);
+        ErrorResponseWritingConsumer.ErrorResponse norwegian = nynorskMapping.select("no").apply(new AccessDeniedException("x"), null);
+
+        // Then
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Tilgang nekta\"}", nynorsk.body());
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Access denied\"}", norwegian.body());
+    }
+
+    @Test
+    void shouldWriteLocalizedBodyWithVaryHeader() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(mapping);
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+        request.addHeader("Accept-Language", "de");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("x"), request, response);
+
+        // Then
+        assertEquals(403, response.getStatus());
+        assertEquals("Accept-Language", response.getHeader("Vary"));
+        assertEquals("{\"code\":\"ACCESS_DENIED\",\"message\":\"Zugriff verweigert\"}", response.getContentAsString());
+    }
+
+    private String body(String acceptLanguage) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api");
+        if (acceptLanguage != null) {
+            request.addHeader("Accept-Language", acceptLanguage);
+        }
+        return mapping.apply(new AccessDeniedException("x"), request).body();
+    }
+}
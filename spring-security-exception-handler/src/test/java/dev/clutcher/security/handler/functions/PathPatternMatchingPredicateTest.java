@@ -0,0 +1,102 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class PathPatternMatchingPredicateTest {
+
+    private static final String PARSED_PATH_ATTRIBUTE = PathPatternMatchingPredicate.class.getName() + ".PARSED_PATH";
+
+    @Mock
+    private HttpServletRequest request;
+
+    @Test
+    void shouldNotMatchAnyUrlWhenNoPatternsAreGiven() {
+        // Given
+        PathPatternMatchingPredicate predicate = new PathPatternMatchingPredicate(Collections.emptyList());
+        when(request.getRequestURI()).thenReturn("/api/users");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void shouldMatchWhenWildcardPatternIsUsed() {
+        // Given
+        PathPatternMatchingPredicate predicate = new PathPatternMatchingPredicate(List.of("/api/**"));
+        when(request.getRequestURI()).thenReturn("/api/users/123");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void shouldNotMatch() {
+        // Given
+        PathPatternMatchingPredicate predicate = new PathPatternMatchingPredicate(
+                Arrays.asList("/api/users/**", "/api/products/**", "/graphql")
+        );
+        when(request.getRequestURI()).thenReturn("/api/orders/789");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void shouldReuseParsedPathCachedOnRequest() {
+        // Given
+        PathPatternMatchingPredicate predicate = new PathPatternMatchingPredicate(List.of("/graphql"));
+        MockHttpServletRequest graphqlRequest = new MockHttpServletRequest("POST", "/graphql");
+        predicate.test(graphqlRequest);
+        Object parsedPath = graphqlRequest.getAttribute(PARSED_PATH_ATTRIBUTE);
+
+        // When
+        boolean result = new PathPatternMatchingPredicate(List.of("/api/**", "/graphql")).test(graphqlRequest);
+
+        // Then
+        assertTrue(result);
+        assertSame(parsedPath, graphqlRequest.getAttribute(PARSED_PATH_ATTRIBUTE));
+    }
+
+    @Test
+    void shouldParsePathAgainWhenRequestUriChanges() {
+        // Given
+        PathPatternMatchingPredicate predicate = new PathPatternMatchingPredicate(List.of("/api/**"));
+        MockHttpServletRequest forwardedRequest = new MockHttpServletRequest("GET", "/login");
+        boolean originalResult = predicate.test(forwardedRequest);
+
+        // When
+        forwardedRequest.setRequestURI("/api/users");
+        boolean forwardedResult = predicate.test(forwardedRequest);
+
+        // Then
+        assertFalse(originalResult);
+        assertTrue(forwardedResult);
+        assertEquals("/api/**", predicate.getMatchingPattern(forwardedRequest));
+    }
+
+}
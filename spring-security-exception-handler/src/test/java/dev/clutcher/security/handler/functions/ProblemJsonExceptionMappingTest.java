@@ -0,0 +1,83 @@
+package dev.clutcher.security.handler.functions;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ProblemJsonExceptionMappingTest {
+
+    @Test
+    void shouldConvertAuthenticationException() {
+        // Given
+        Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> mapper =
+                ExceptionMappingFunctions.problemJsonExceptionMapping();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse response = mapper.apply(new BadCredentialsException("Invalid credentials"));
+
+        // Then
+        assertEquals(HttpServletResponse.SC_UNAUTHORIZED, response.status());
+        assertEquals("application/problem+json", response.contentType());
+        assertEquals(
+                "{\"type\":\"about:blank\",\"title\":\"Unauthorized\",\"status\":401,\"detail\":\"Authentication required\"}",
+                response.body()
+        );
+    }
+
+    @Test
+    void shouldOmitDetailWhenNotGiven() {
+        // When
+        String body = ExceptionMappingFunctions.problemJsonBody("https://example.com/problems/csrf", "Forbidden", 403, null);
+
+        // Then
+        assertEquals("{\"type\":\"https://example.com/problems/csrf\",\"title\":\"Forbidden\",\"status\":403}", body);
+    }
+
+    @Test
+    void shouldRegisterCustomProblemOnTopOfDefaults() {
+        // Given
+        Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> mapper =
+                ExceptionMappingFunctions.problemJsonExceptionMappingBuilder()
+                                         .register(BadCredentialsException.class, ExceptionMappingFunctions.problemResponse(
+                                                 "https://example.com/problems/bad-credentials", "Bad credentials", 401, "Check username"
+                                         ))
+                                         .build();
+
+        // When
+        ErrorResponseWritingConsumer.ErrorResponse credentialsResponse = mapper.apply(new BadCredentialsException("x"));
+        ErrorResponseWritingConsumer.ErrorResponse deniedResponse = mapper.apply(new AccessDeniedException("x"));
+
+        // Then
+        assertEquals(
+                "{\"type\":\"https://example.com/problems/bad-credentials\",\"title\":\"Bad credentials\",\"status\":401,\"detail\":\"Check username\"}",
+                credentialsResponse.body()
+        );
+        assertEquals(HttpServletResponse.SC_FORBIDDEN, deniedResponse.status());
+    }
+
+    @Test
+    void shouldWriteTemplatedProblemWithInstance() throws Exception {
+        // Given
+        ErrorResponseWritingConsumer consumer = new ErrorResponseWritingConsumer(
+                ExceptionMappingFunctions.templatedProblemJsonExceptionMapping(ExceptionMappingFunctions.PROBLEM_JSON_TEMPLATE)
+        );
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        // When
+        consumer.accept(new AccessDeniedException("x"), new MockHttpServletRequest("GET", "/api/orders"), response);
+
+        // Then
+        assertEquals("application/problem+json", response.getContentType());
+        assertEquals(
+                "{\"type\":\"about:blank\",\"title\":\"Forbidden\",\"status\":403,\"detail\":\"Access denied\",\"instance\":\"/api/orders\"}",
+                response.getContentAsString()
+        );
+    }
+}
@@ -0,0 +1,138 @@
+package dev.clutcher.security.handler.functions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestMatchingPredicateTest {
+
+    @Test
+    void shouldMatchWhenMethodPathAndHeadersMatch() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .methods("post")
+                                                                     .urls(List.of("/graphql"))
+                                                                     .accept("application/json")
+                                                                     .contentType("application/json")
+                                                                     .header("X-Client")
+                                                                     .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/graphql");
+        request.addHeader("Accept", "text/html, application/*;q=0.8");
+        request.addHeader("Content-Type", "application/json;charset=UTF-8");
+        request.addHeader("X-Client", "web");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void shouldNotMatchWhenMethodDiffers() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .methods("POST")
+                                                                     .urls(List.of("/graphql"))
+                                                                     .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/graphql");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void shouldNormalizeMethodsIndependentOfDefaultLocale() {
+        // Given
+        Locale defaultLocale = Locale.getDefault();
+        RequestMatchingPredicate predicate;
+        try {
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+            predicate = RequestMatchingPredicate.builder()
+                                                .methods("options")
+                                                .build();
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+
+        // When
+        boolean result = predicate.test(new MockHttpServletRequest("OPTIONS", "/graphql"));
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void shouldNotMatchWhenAcceptIsIncompatible() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .accept("application/json")
+                                                                     .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/page");
+        request.addHeader("Accept", "text/html");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertFalse(result);
+    }
+
+    @Test
+    void shouldMatchAnyAcceptWhenHeaderIsMissing() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .accept("application/json")
+                                                                     .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/page");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertTrue(result);
+    }
+
+    @Test
+    void shouldNotMatchWhenContentTypeIsMissingOrInvalid() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .contentType("application/*")
+                                                                     .build();
+        MockHttpServletRequest missingRequest = new MockHttpServletRequest("POST", "/api");
+        MockHttpServletRequest invalidRequest = new MockHttpServletRequest("POST", "/api");
+        invalidRequest.addHeader("Content-Type", "not a media type");
+
+        // When
+        boolean missingResult = predicate.test(missingRequest);
+        boolean invalidResult = predicate.test(invalidRequest);
+
+        // Then
+        assertFalse(missingResult);
+        assertFalse(invalidResult);
+    }
+
+    @Test
+    void shouldNotMatchWhenRequiredHeaderIsMissing() {
+        // Given
+        RequestMatchingPredicate predicate = RequestMatchingPredicate.builder()
+                                                                     .urls(List.of("/api/**"))
+                                                                     .header("X-Api-Key")
+                                                                     .build();
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/users");
+
+        // When
+        boolean result = predicate.test(request);
+
+        // Then
+        assertFalse(result);
+    }
+}
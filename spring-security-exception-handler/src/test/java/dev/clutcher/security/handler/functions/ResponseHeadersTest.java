@@ -0,0 +1,42 @@
+package dev.clutcher.security.handler.functions;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ResponseHeadersTest {
+
+    @Test
+    void shouldReplaceFirstValueAndAddRepeatedValues() {
+        // Given
+        ResponseHeaders headers = ResponseHeaders.builder()
+                                                 .header("WWW-Authenticate", "Bearer realm=\"api\"")
+                                                 .header("www-authenticate", "Basic realm=\"api\"")
+                                                 .header("Retry-After", "120")
+                                                 .build();
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        response.setHeader("WWW-Authenticate", "Basic");
+
+        // When
+        headers.applyTo(response);
+
+        // Then
+        assertEquals(List.of("Bearer realm=\"api\"", "Basic realm=\"api\""), response.getHeaders("WWW-Authenticate"));
+        assertEquals("120", response.getHeader("Retry-After"));
+    }
+
+    @Test
+    void shouldRejectInvalidHeaders() {
+        // Given
+        ResponseHeaders.Builder builder = ResponseHeaders.builder();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> builder.header("X-Tenant\r\nSet-Cookie", "a"));
+        assertThrows(IllegalArgumentException.class, () -> builder.header("X-Tenant", "a\r\nSet-Cookie: b"));
+        assertThrows(IllegalArgumentException.class, () -> builder.header("Content-Type", "text/html"));
+    }
+}
@@ -0,0 +1,103 @@
+package dev.clutcher.security.reactive.filter;
+
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.ResponseHeaders;
+import dev.clutcher.security.reactive.handler.ReactiveSpringSecurityExceptionHandler;
+import dev.clutcher.security.reactive.handler.ReactiveSpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.reactive.handler.functions.ErrorResponseWritingFunction;
+import dev.clutcher.security.reactive.handler.functions.ServerWebExchangeUrlMatchingPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class SpringSecurityExceptionWebFilterTest {
+
+    @Test
+    void shouldWriteResponseOfHandlerWithLowestOrder() {
+        // Given
+        SpringSecurityExceptionWebFilter filter = new SpringSecurityExceptionWebFilter(List.of(
+                handler(100, "/**", ExceptionMappingFunctions.jsonBodyExceptionMapping()),
+                handler(0, "/graphql", ExceptionMappingFunctions.graphqlJsonBodyExceptionMapping())
+        ));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.post("/graphql"));
+        WebFilterChain chain = e -> Mono.error(new BadCredentialsException("Invalid credentials"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals(
+                "{\"errors\":[{\"message\":\"Authentication required\",\"extensions\":{\"errorType\":\"AUTHENTICATION_REQUIRED\",\"classification\":\"UNAUTHENTICATED\",\"code\":\"AUTHENTICATION_ERROR\"}}]}",
+                exchange.getResponse().getBodyAsString().block()
+        );
+    }
+
+    @Test
+    void shouldPropagateErrorWhenNoHandlerMatches() {
+        // Given
+        SpringSecurityExceptionWebFilter filter = new SpringSecurityExceptionWebFilter(List.of(
+                handler(0, "/api/**", ExceptionMappingFunctions.jsonBodyExceptionMapping())
+        ));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/public"));
+        AccessDeniedException exception = new AccessDeniedException("Access denied");
+        WebFilterChain chain = e -> Mono.error(exception);
+
+        // When
+        AccessDeniedException thrown = assertThrows(AccessDeniedException.class, () -> filter.filter(exchange, chain).block());
+
+        // Then
+        assertSame(exception, thrown);
+    }
+
+    @Test
+    void shouldWriteHandlerHeadersBeforeExceptionHeaders() {
+        // Given
+        ErrorResponseWritingFunction writingFunction = new ErrorResponseWritingFunction(
+                exception -> new ErrorResponseWritingConsumer.ErrorResponse(401, "{}")
+                        .withHeaders(ResponseHeaders.builder().header("Cache-Control", "no-store").build())
+        ).withHeaders(ResponseHeaders.builder()
+                                     .header("Cache-Control", "no-cache")
+                                     .header("X-Api-Version", "2")
+                                     .build());
+        SpringSecurityExceptionWebFilter filter = new SpringSecurityExceptionWebFilter(List.of(
+                ReactiveSpringSecurityExceptionHandlerBuilder.builder()
+                                                             .canHandle(exchange -> true)
+                                                             .handle(writingFunction)
+                                                             .build()
+        ));
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/users"));
+        WebFilterChain chain = e -> Mono.error(new BadCredentialsException("Invalid credentials"));
+
+        // When
+        filter.filter(exchange, chain).block();
+
+        // Then
+        assertEquals(HttpStatus.UNAUTHORIZED, exchange.getResponse().getStatusCode());
+        assertEquals("no-store", exchange.getResponse().getHeaders().getFirst("Cache-Control"));
+        assertEquals("2", exchange.getResponse().getHeaders().getFirst("X-Api-Version"));
+    }
+
+    private static ReactiveSpringSecurityExceptionHandler handler(int order, String urlPattern,
+                                                                  Function<RuntimeException, ErrorResponseWritingConsumer.ErrorResponse> mapping) {
+        return ReactiveSpringSecurityExceptionHandlerBuilder.builder()
+                                                            .canHandle(new ServerWebExchangeUrlMatchingPredicate(List.of(urlPattern)))
+                                                            .handle(new ErrorResponseWritingFunction(mapping))
+                                                            .order(order)
+                                                            .build();
+    }
+
+}
@@ -0,0 +1,49 @@
+package dev.clutcher.security.reactive.handler.functions;
+
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ServerWebExchangeUrlMatchingPredicateTest {
+
+    @Test
+    void shouldMatchSamePathsAsServletPredicate() {
+        // Given
+        List<String> patterns = List.of("/api/**", "/**/foo", "/files/**/report", "/users/{id}", "/static/*.json");
+        List<String> paths = List.of("/api", "/api/users/1", "/foo", "/a/b/foo", "/foo/bar", "/files/report",
+                                     "/files/2024/q1/report", "/users/42", "/users/42/roles", "/static/app.json",
+                                     "/static/app.js", "/other");
+
+        for (String pattern : patterns) {
+            UrlMatchingPredicate servletPredicate = new UrlMatchingPredicate(List.of(pattern));
+            ServerWebExchangeUrlMatchingPredicate reactivePredicate = new ServerWebExchangeUrlMatchingPredicate(List.of(pattern));
+            for (String path : paths) {
+                // When
+                boolean servletMatch = servletPredicate.test(new MockHttpServletRequest("GET", path));
+                boolean reactiveMatch = reactivePredicate.test(MockServerWebExchange.from(MockServerHttpRequest.get(path)));
+
+                // Then
+                assertEquals(servletMatch, reactiveMatch, () -> pattern + " on " + path);
+            }
+        }
+    }
+
+    @Test
+    void shouldMatchDoubleWildcardInsidePattern() {
+        // Given
+        ServerWebExchangeUrlMatchingPredicate predicate = new ServerWebExchangeUrlMatchingPredicate(List.of("/**/foo"));
+
+        // When
+        boolean result = predicate.test(MockServerWebExchange.from(MockServerHttpRequest.get("/a/b/foo")));
+
+        // Then
+        assertTrue(result);
+    }
+}
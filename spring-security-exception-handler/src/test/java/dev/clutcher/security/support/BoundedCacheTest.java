@@ -0,0 +1,77 @@
+package dev.clutcher.security.support;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedCacheTest {
+
+    @Test
+    void shouldRecordHitsAndMisses() {
+        // Given
+        BoundedCache<String, String> cache = new BoundedCache<>(10);
+
+        // When
+        String missed = cache.get("/graphql");
+        cache.put("/graphql", "graphql");
+        String hit = cache.get("/graphql");
+
+        // Then
+        assertNull(missed);
+        assertEquals("graphql", hit);
+        assertEquals(1, cache.getStatistics().getHitCount());
+        assertEquals(1, cache.getStatistics().getMissCount());
+    }
+
+    @Test
+    void shouldStayBoundedAndKeepHotEntriesUnderRandomKeys() {
+        // Given
+        BoundedCache<String, String> cache = new BoundedCache<>(16);
+        cache.put("/api/login", "default");
+        for (int i = 0; i < 100; i++) {
+            cache.get("/api/login");
+        }
+
+        // When
+        for (int i = 0; i < 10_000; i++) {
+            String randomPath = "/random/" + i;
+            if (cache.get(randomPath) == null) {
+                cache.put(randomPath, "default");
+            }
+        }
+
+        // Then
+        assertTrue(cache.size() <= 16);
+        assertEquals("default", cache.get("/api/login"));
+        assertTrue(cache.getStatistics().getRejectionCount() > 0);
+    }
+
+    @Test
+    void shouldLetNewHotKeysDisplaceEntriesWhichWereOnlyHotInThePast() {
+        // Given
+        BoundedCache<String, String> cache = new BoundedCache<>(4);
+        for (int i = 0; i < 4; i++) {
+            cache.put("/stale/" + i, "default");
+            for (int j = 0; j < 1_000; j++) {
+                cache.get("/stale/" + i);
+            }
+        }
+
+        // When
+        for (int i = 0; i < 2_000; i++) {
+            String hotPath = i / 10 % 2 == 0 ? "/api/login" : "/api/token";
+            if (cache.get(hotPath) == null) {
+                cache.put(hotPath, "default");
+            }
+        }
+
+        // Then
+        assertEquals(4, cache.size());
+        assertEquals("default", cache.get("/api/login"));
+        assertEquals("default", cache.get("/api/token"));
+        assertTrue(cache.getStatistics().getEvictionCount() >= 2);
+    }
+
+}
@@ -0,0 +1,66 @@
+package dev.clutcher.security.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedRingBufferTest {
+
+    @Test
+    void shouldRejectOffersWhenFull() {
+        // Given
+        BoundedRingBuffer<String> buffer = new BoundedRingBuffer<>(2);
+
+        // When / Then
+        assertTrue(buffer.offer("a"));
+        assertTrue(buffer.offer("b"));
+        assertFalse(buffer.offer("c"));
+        assertEquals("a", buffer.poll());
+        assertTrue(buffer.offer("c"));
+        assertEquals("b", buffer.poll());
+        assertEquals("c", buffer.poll());
+        assertNull(buffer.poll());
+    }
+
+    @Test
+    void shouldNotLoseElementsWithConcurrentProducers() throws Exception {
+        // Given
+        BoundedRingBuffer<Integer> buffer = new BoundedRingBuffer<>(1 << 16);
+        int producers = 4;
+        int elementsPerProducer = 10_000;
+        ExecutorService executor = Executors.newFixedThreadPool(producers);
+        CountDownLatch done = new CountDownLatch(producers);
+        AtomicInteger rejected = new AtomicInteger();
+
+        // When
+        for (int p = 0; p < producers; p++) {
+            executor.execute(() -> {
+                for (int i = 0; i < elementsPerProducer; i++) {
+                    if (!buffer.offer(i)) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                done.countDown();
+            });
+        }
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+        executor.shutdown();
+
+        // Then
+        int polled = 0;
+        while (buffer.poll() != null) {
+            polled++;
+        }
+        assertEquals(0, rejected.get());
+        assertEquals(producers * elementsPerProducer, polled);
+    }
+}
@@ -0,0 +1,36 @@
+package dev.clutcher.security.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.concurrent.CancellationException;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ExceptionTypeSetTest {
+
+    @Test
+    void shouldMatchConfiguredTypesAndTheirSubclasses() {
+        // Given
+        ExceptionTypeSet types = ExceptionTypeSet.of(IllegalStateException.class, UncheckedIOException.class);
+
+        // When / Then
+        assertTrue(types.contains(new IllegalStateException()));
+        assertTrue(types.contains(new CancellationException()));
+        assertTrue(types.contains(new UncheckedIOException(new IOException())));
+        assertFalse(types.contains(new IllegalArgumentException()));
+        assertFalse(types.contains(null));
+    }
+
+    @Test
+    void shouldMatchNothingWhenEmpty() {
+        // Given
+        ExceptionTypeSet types = ExceptionTypeSet.of();
+
+        // When / Then
+        assertTrue(types.isEmpty());
+        assertFalse(types.contains(new RuntimeException()));
+    }
+}
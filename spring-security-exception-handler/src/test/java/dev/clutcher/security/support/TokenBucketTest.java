@@ -0,0 +1,42 @@
+package dev.clutcher.security.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TokenBucketTest {
+
+    @Test
+    void shouldAllowBurstAndThenRefillOverTime() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(2, 3, clock::get);
+
+        // When / Then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+
+    @Test
+    void shouldNotAccumulateMoreThanBurstWhileIdle() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        TokenBucket bucket = new TokenBucket(1, 2, clock::get);
+        clock.addAndGet(TimeUnit.MINUTES.toNanos(1));
+
+        // When / Then
+        assertTrue(bucket.tryAcquire());
+        assertTrue(bucket.tryAcquire());
+        assertFalse(bucket.tryAcquire());
+    }
+}
@@ -0,0 +1,52 @@
+package dev.clutcher.security.support;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class WindowedCountMinSketchTest {
+
+    private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    @Test
+    void shouldCountPerKeyWithinWindow() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        WindowedCountMinSketch sketch = new WindowedCountMinSketch(1024, WINDOW_NANOS, clock::get);
+
+        // When
+        for (int i = 0; i < 5; i++) {
+            sketch.increment("10.0.0.1");
+        }
+        sketch.increment("10.0.0.2");
+
+        // Then
+        assertEquals(5, sketch.estimate("10.0.0.1"));
+        assertEquals(1, sketch.estimate("10.0.0.2"));
+        assertEquals(0, sketch.estimate("10.0.0.3"));
+    }
+
+    @Test
+    void shouldDecayPreviousWindowAndForgetOlderOnes() {
+        // Given
+        AtomicLong clock = new AtomicLong();
+        WindowedCountMinSketch sketch = new WindowedCountMinSketch(1024, WINDOW_NANOS, clock::get);
+        for (int i = 0; i < 10; i++) {
+            sketch.increment("client");
+        }
+
+        // When
+        clock.set(WINDOW_NANOS + WINDOW_NANOS / 2);
+        long halfDecayed = sketch.estimate("client");
+        clock.set(3 * WINDOW_NANOS);
+        sketch.increment("other");
+        long expired = sketch.estimate("client");
+
+        // Then
+        assertEquals(5, halfDecayed);
+        assertEquals(0, expired);
+    }
+}
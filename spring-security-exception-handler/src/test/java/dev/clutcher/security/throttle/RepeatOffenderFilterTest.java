@@ -0,0 +1,94 @@
+package dev.clutcher.security.throttle;
+
+import dev.clutcher.security.filter.SpringSecurityExceptionResponder;
+import dev.clutcher.security.handler.SpringSecurityExceptionHandlerBuilder;
+import dev.clutcher.security.handler.functions.ErrorResponseWritingConsumer;
+import dev.clutcher.security.handler.functions.ExceptionMappingFunctions;
+import dev.clutcher.security.handler.functions.UrlMatchingPredicate;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authentication.event.AuthenticationFailureBadCredentialsEvent;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.same;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+class RepeatOffenderFilterTest {
+
+    private static final AuthenticationFailureBadCredentialsEvent FAILURE_EVENT = new AuthenticationFailureBadCredentialsEvent(
+            UsernamePasswordAuthenticationToken.unauthenticated("user", "wrong"), new BadCredentialsException("Bad credentials")
+    );
+
+    @Mock
+    private FilterChain filterChain;
+
+    @Test
+    void shouldRejectRepeatOffenderWithoutInvokingChain() throws Exception {
+        // Given
+        RepeatOffenderGuard guard = RepeatOffenderGuard.builder().threshold(2).build();
+        RepeatOffenderFilter filter = new RepeatOffenderFilter(guard, jsonResponder());
+        MockHttpServletRequest failedRequest = request("10.0.0.1");
+        doAnswer(invocation -> {
+            guard.onApplicationEvent(FAILURE_EVENT);
+            return null;
+        }).when(filterChain).doFilter(same(failedRequest), any());
+        filter.doFilter(failedRequest, new MockHttpServletResponse(), filterChain);
+        filter.doFilter(failedRequest, new MockHttpServletResponse(), filterChain);
+
+        MockHttpServletRequest blockedRequest = request("10.0.0.1");
+        MockHttpServletRequest otherClientRequest = request("10.0.0.2");
+        MockHttpServletResponse blockedResponse = new MockHttpServletResponse();
+
+        // When
+        filter.doFilter(blockedRequest, blockedResponse, filterChain);
+        filter.doFilter(otherClientRequest, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        assertEquals(401, blockedResponse.getStatus());
+        verify(filterChain, never()).doFilter(same(blockedRequest), any());
+        verify(filterChain).doFilter(same(otherClientRequest), any());
+    }
+
+    @Test
+    void shouldIgnoreFailureEventsOutsideOfFilteredRequest() throws Exception {
+        // Given
+        RepeatOffenderGuard guard = RepeatOffenderGuard.builder().threshold(1).build();
+        RepeatOffenderFilter filter = new RepeatOffenderFilter(guard, jsonResponder());
+        MockHttpServletRequest request = request("10.0.0.1");
+
+        // When
+        guard.onApplicationEvent(FAILURE_EVENT);
+        filter.doFilter(request, new MockHttpServletResponse(), filterChain);
+
+        // Then
+        verify(filterChain).doFilter(same(request), any());
+    }
+
+    private static SpringSecurityExceptionResponder jsonResponder() {
+        SpringSecurityExceptionResponder responder = new SpringSecurityExceptionResponder();
+        responder.setHandlers(List.of(SpringSecurityExceptionHandlerBuilder.builder()
+                                                                           .canHandle(new UrlMatchingPredicate(List.of("/**")))
+                                                                           .handle(new ErrorResponseWritingConsumer(ExceptionMappingFunctions.jsonBodyExceptionMapping()))
+                                                                           .build()));
+        return responder;
+    }
+
+    private static MockHttpServletRequest request(String remoteAddress) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/login");
+        request.setRemoteAddr(remoteAddress);
+        return request;
+    }
+}